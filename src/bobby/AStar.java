@@ -0,0 +1,177 @@
+package bobby;
+
+import battlecode.common.Clock;
+import battlecode.common.Direction;
+import battlecode.common.MapLocation;
+import battlecode.common.RobotController;
+
+/**
+ * Resumable A* over WorldMap, meant to run on whatever bytecode is left at the end of a turn.
+ *
+ * The search runs backwards, from the goal towards the robot. That way the robot can keep moving
+ * (with Bug2) while the plan is being computed: as soon as the tile it's standing on gets closed,
+ * following the search tree from there is a shortest path (as far as we know) to the goal.
+ *
+ * Everything lives in primitive arrays indexed like WorldMap, and is reset in O(1) by bumping the
+ * search id.
+ */
+public class AStar {
+
+    static final int SAFETY_MARGIN = 400; // bytecodes left for the end of the turn.
+    static final int UNKNOWN_COST = 2; // unseen tiles might be walls, so prefer known ones.
+
+    static final Direction[] DIRECTIONS = {
+            Direction.NORTH, Direction.NORTHEAST, Direction.EAST, Direction.SOUTHEAST,
+            Direction.SOUTH, Direction.SOUTHWEST, Direction.WEST, Direction.NORTHWEST};
+    // Index offset of a neighbor in each direction; see WorldMap.index.
+    static final int[] OFFSETS = {1, (1 << 6) + 1, 1 << 6, (1 << 6) - 1, -1, -(1 << 6) - 1, -(1 << 6), -(1 << 6) + 1};
+
+    private static final int[] stamps = new int[WorldMap.SIZE]; // (search << 1) | closed
+    private static final int[] costs = new int[WorldMap.SIZE]; // cost from each tile to the goal
+    private static final int[] steps = new int[WorldMap.SIZE]; // direction to go next, towards the goal
+    private static final int[] heap = new int[WorldMap.SIZE]; // (f << 12) | idx; may hold stale entries.
+    private static int heapSize = 0;
+    private static int search = 0;
+
+    static MapLocation goal = null;
+    private static int width;
+    private static int height;
+    private static boolean exhausted = false; // no path with what we know.
+
+    // Starts planning a path to target. Does no work until resume() is called.
+    static void plan(RobotController rc, MapLocation target) {
+        if (target.equals(goal)) {
+            return;
+        }
+        goal = target;
+        width = rc.getMapWidth();
+        height = rc.getMapHeight();
+        search++;
+        heapSize = 0;
+        exhausted = false;
+
+        int idx = WorldMap.index(target);
+        stamps[idx] = search << 1;
+        costs[idx] = 0;
+        push(idx);
+    }
+
+    // Whether the tile we're standing on is part of the finished plan.
+    static boolean isReady(RobotController rc) {
+        return goal != null && stamps[WorldMap.index(rc.getLocation())] == ((search << 1) | 1);
+    }
+
+    // Next step of the plan from where we are, or null if there's no plan (yet) or the next step
+    // is known to be blocked.
+    static Direction nextStep(RobotController rc) {
+        if (!isReady(rc)) {
+            return null;
+        }
+        MapLocation here = rc.getLocation();
+        int step = steps[WorldMap.index(here)];
+        int nextIdx = WorldMap.index(here) + OFFSETS[step];
+        if (WorldMap.isWall(nextIdx) || WorldMap.current(nextIdx) != Direction.CENTER) {
+            // We learned something new about the terrain along the way. Start over.
+            MapLocation target = goal;
+            goal = null;
+            plan(rc, target);
+            return null;
+        }
+        return DIRECTIONS[step];
+    }
+
+    // Expands nodes until only SAFETY_MARGIN bytecodes are left this turn, or the plan is ready.
+    static void resume(RobotController rc) {
+        if (goal == null || exhausted) {
+            return;
+        }
+        MapLocation here = rc.getLocation();
+        int hereIdx = WorldMap.index(here);
+        int closedHere = (search << 1) | 1;
+        int open = search << 1;
+        int hx = here.x;
+        int hy = here.y;
+
+        while (stamps[hereIdx] != closedHere) {
+            if (heapSize == 0) {
+                exhausted = true;
+                return;
+            }
+            if (Clock.getBytecodesLeft() < SAFETY_MARGIN) {
+                return;
+            }
+
+            int idx = pop() & 0xFFF;
+            if (stamps[idx] == closedHere) {
+                continue; // stale entry, we already found a better way.
+            }
+            stamps[idx] = closedHere;
+            int cost = costs[idx];
+            // Backwards: moving from a neighbor into idx costs whatever idx costs to enter.
+            int enter = cost + (WorldMap.isKnown(idx) ? 1 : UNKNOWN_COST);
+
+            for (int d = 8; --d >= 0; ) {
+                int n = idx + OFFSETS[d];
+                int nx = (n >> 6) - 1;
+                int ny = (n & 0b111111) - 1;
+                if (nx < 0 || ny < 0 || nx >= width || ny >= height) {
+                    continue;
+                }
+                int stamp = stamps[n];
+                if (stamp == closedHere) {
+                    continue;
+                }
+                int tile = WorldMap.tiles[n];
+                if ((tile & WorldMap.WALL) != 0 || ((tile & WorldMap.KNOWN) != 0 && (tile & WorldMap.CURRENT_MASK) != WorldMap.NO_CURRENT)) {
+                    continue; // can't stand there (or we'd get dragged away).
+                }
+                if (stamp != open || enter < costs[n]) {
+                    stamps[n] = open;
+                    costs[n] = enter;
+                    steps[n] = (d + 4) & 7; // opposite of d, i.e. from n back to idx.
+                    int dx = nx - hx;
+                    if (dx < 0) dx = -dx;
+                    int dy = ny - hy;
+                    if (dy < 0) dy = -dy;
+                    push(((enter + (dx > dy ? dx : dy)) << 12) | n);
+                }
+            }
+        }
+    }
+
+    private static void push(int key) {
+        if (heapSize == heap.length) {
+            return; // only with lots of stale entries. Dropping one just makes the plan a bit worse.
+        }
+        int i = heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) >> 1;
+            if (heap[parent] <= key) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = key;
+    }
+
+    private static int pop() {
+        int top = heap[0];
+        int last = heap[--heapSize];
+        int i = 0;
+        int half = heapSize >> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (last <= heap[child]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+}
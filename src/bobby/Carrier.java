@@ -12,6 +12,9 @@ import battlecode.common.RobotType;
 import battlecode.common.Team;
 import battlecode.common.WellInfo;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class Carrier extends RobotPlayer {
 
     public static final int VISION_RADIUS = 20;
@@ -47,22 +50,22 @@ public class Carrier extends RobotPlayer {
         rc.setIndicatorString("START! If seen, we're out of bytecode or exited somewhere weird");
 
         // Regardless of State, update information.
-        int start = Clock.getBytecodeNum();
+        if (Profiler.ENABLED) Profiler.begin(Profiler.CARRIER_SENSE);
         updateKnowledgeAndSense(rc);
-        profile("updateKnowledgeAndSense", Clock.getBytecodeNum() - start);
+        if (Profiler.ENABLED) Profiler.end(Profiler.CARRIER_SENSE);
 
         // State machine
-        start = Clock.getBytecodeNum();
         State startState = state;
+        if (Profiler.ENABLED) Profiler.begin(Profiler.CARRIER_STATE + startState.ordinal());
         runState(rc, startState);
-        profile("runState " + startState, Clock.getBytecodeNum() - start);
+        if (Profiler.ENABLED) Profiler.end(Profiler.CARRIER_STATE + startState.ordinal());
         if (state != startState && (rc.isMovementReady() || rc.isActionReady())) {
             // We had a state transition. Run states again just in case we can act again.
             // Note that if we moved, then we might have to re-sense stuff, but let's ignore that for now.
             startState = state;
-            start = Clock.getBytecodeNum();
+            if (Profiler.ENABLED) Profiler.begin(Profiler.CARRIER_STATE + startState.ordinal());
             runState(rc, state);
-            profile("runState " + startState, Clock.getBytecodeNum() - start);
+            if (Profiler.ENABLED) Profiler.end(Profiler.CARRIER_STATE + startState.ordinal());
         }
 
         setIndicator(rc);
@@ -71,16 +74,19 @@ public class Carrier extends RobotPlayer {
     private static void updateKnowledgeAndSense(RobotController rc) throws GameActionException {
         int startCodes = Clock.getBytecodeNum();
 
+        WorldMap.update(rc);
         updateKnowledge(rc, true);
 
         senseNearbyWells(rc);
-        maybeFlushWells(rc);
-
         checkPotentialEnemyHQs(rc);
-        maybeFlushEnemyHQs(rc);
+        Heatmap.record(rc, rc.senseNearbyRobots(-1, rc.getTeam().opponent()));
+        maybeFlushWrites(rc);
+        Occupancy.flush(rc);
 
         int startIslands = Clock.getBytecodeNum();
+        Memory.readIslands(islands); // what everyone else knows first, so that what we see wins.
         updateNearbyIslands(rc);
+        maybeFlushIslands(rc);
         int islandsTook = Clock.getBytecodeNum() - startIslands;
         if (RobotPlayer.PROFILE) {
             System.out.println("sensing islands took " + islandsTook);
@@ -156,17 +162,31 @@ public class Carrier extends RobotPlayer {
             WellInfo[] wells = rc.senseNearbyWells();
             if (wells.length > 0) {
                 // TODO: prioritize mana?
-                // Choose a well randomly.
-                return wells[rng.nextInt(wells.length)].getMapLocation();
+                List<Memory.Well> nearby = new ArrayList<>(wells.length);
+                for (WellInfo info : wells) {
+                    Memory.Well well = knownWells.get(info.getMapLocation());
+                    nearby.add(well != null ? well : Memory.Well.from(info, null));
+                }
+                // Choose one randomly, favoring the less crowded.
+                Memory.Well well = Occupancy.pick(rc.getLocation(), nearby);
+                Occupancy.claim(well);
+                return well.loc;
             }
         }
 
         // If we're here, we don't have any nearby, or it's not early-game anymore. Spread out.
         MapLocation picked = null;
         if (knownWells.size() > 0) {
-            picked = ((Memory.Well) knownWells.values().toArray()[rng.nextInt(knownWells.size())]).loc;
+            Memory.Well well = Occupancy.pick(rc.getLocation(), knownWells.values());
+            Occupancy.claim(well);
+            picked = well.loc;
         } else if (memoryWells.size() > 0) {
+            Occupancy.release(); // not in the array yet, so nobody's counting it.
             picked = ((Memory.Well) memoryWells.toArray()[rng.nextInt(memoryWells.size())]).loc;
+        } else {
+            // Nobody has seen one yet, but we might know where they are by symmetry.
+            Occupancy.release();
+            picked = WorldMap.closestMirroredWell(rc.getLocation());
         }
 
         if (picked != null) {
@@ -184,9 +204,9 @@ public class Carrier extends RobotPlayer {
 
     private static void runToWell(RobotController rc) throws GameActionException {
         if (!rc.getLocation().isAdjacentTo(collectingAt)) {
-            Pathing.moveTowards(rc, collectingAt);
+            Pathing.moveTowards(rc, Pathing.Algo.BFS, collectingAt, 2, 0);
             if (rc.isMovementReady()) { // Carriers can move up to twice per turn when unloaded
-                Pathing.moveTowards(rc, collectingAt);
+                Pathing.moveTowards(rc, Pathing.Algo.BFS, collectingAt, 2, 0);
             }
         } else { // we're close enough to collect!
             state = State.COLLECTING;
@@ -230,6 +250,7 @@ public class Carrier extends RobotPlayer {
         if (isEmpty(rc) && rc.isActionReady()) { // may need to delay a turn here.
             if (rc.canTakeAnchor(homeHQLoc, Anchor.STANDARD)) {
                 rc.takeAnchor(homeHQLoc, Anchor.STANDARD);
+                Occupancy.release();
                 state = State.ANCHORING;
                 return;
             } else {
@@ -295,16 +316,22 @@ public class Carrier extends RobotPlayer {
         targetIslandLoc = null;
 
         // Get closest neutral island, if any. Also get lowest id opponent island.
+        MapLocation here = rc.getLocation();
         Island closestNeutral = null;
+        MapLocation closestLoc = null;
         int closestDist = Integer.MAX_VALUE;
         Island opponent = null;
         for (Island i : islands.values()) {
             if (i.team == Team.NEUTRAL) {
-                // NOTE: it'd be better to use closest(), but it's expensive and we're in a loop.
-                int dist = i.random(rc).distanceSquaredTo(rc.getLocation());
+                if (i.distanceSquaredToBox(here) >= closestDist) {
+                    continue; // can't be closer.
+                }
+                MapLocation loc = i.closest(here);
+                int dist = loc.distanceSquaredTo(here);
                 if (dist < closestDist) {
                     closestDist = dist;
                     closestNeutral = i;
+                    closestLoc = loc;
                 }
             } else if (i.team == rc.getTeam().opponent()) {
                 if (opponent == null || i.id < opponent.id) { // based on id so that choice is stable-ish.
@@ -314,7 +341,7 @@ public class Carrier extends RobotPlayer {
         }
         if (closestNeutral != null) {
             targetIslandId = closestNeutral.id;
-            targetIslandLoc = closestNeutral.closest(rc);
+            targetIslandLoc = closestLoc;
             return;
         }
         if (opponent != null) {
@@ -0,0 +1,74 @@
+package bobby;
+
+import battlecode.common.Direction;
+
+/**
+ * Memoized resolution of current chains: where we end up if we step onto a tile and let the
+ * currents carry us. Built lazily on top of WorldMap, and only recomputed once new tiles come
+ * into view (a chain may continue into tiles we didn't know about).
+ */
+public class Currents {
+
+    // Entry layout: [WorldMap.version it was resolved at][cycle: 1][endpoint index: 12]
+    static final int ENDPOINT_MASK = (1 << 12) - 1;
+    static final int CYCLE = 1 << 12;
+    static final int VERSION_SHIFT = 13;
+
+    private static final int[] chains = new int[WorldMap.SIZE];
+    private static final int[] walks = new int[WorldMap.SIZE]; // last walk that went through each tile
+    private static int walk = 0;
+
+    // Returns the index of the last tile of the chain starting at idx (idx itself if it has no
+    // current), OR'ed with CYCLE if the chain loops forever. If the chain runs into tiles we
+    // haven't seen, the first unknown tile is returned.
+    static int endpoint(int idx) {
+        int version = WorldMap.version;
+        int entry = chains[idx];
+        if ((entry >>> VERSION_SHIFT) == version) {
+            return entry & (CYCLE | ENDPOINT_MASK);
+        }
+
+        walk++;
+        int end;
+        int cur = idx;
+        while (true) {
+            entry = chains[cur];
+            if ((entry >>> VERSION_SHIFT) == version) { // joined an already-resolved chain.
+                end = entry & (CYCLE | ENDPOINT_MASK);
+                break;
+            }
+            if (walks[cur] == walk) { // we've been here during this walk.
+                end = cur | CYCLE;
+                break;
+            }
+            Direction current = WorldMap.current(cur); // CENTER if unknown.
+            if (current == Direction.CENTER) {
+                end = cur;
+                break;
+            }
+            walks[cur] = walk;
+            cur += (current.dx << 6) + current.dy; // same as WorldMap.index(x + dx, y + dy).
+        }
+
+        // Memoize the whole chain we just walked.
+        int resolved = (version << VERSION_SHIFT) | end;
+        for (cur = idx; walks[cur] == walk && (chains[cur] >>> VERSION_SHIFT) != version; ) {
+            chains[cur] = resolved;
+            Direction current = WorldMap.current(cur);
+            cur += (current.dx << 6) + current.dy;
+        }
+        return end;
+    }
+
+    static boolean isCycle(int endpoint) {
+        return (endpoint & CYCLE) != 0;
+    }
+
+    static int x(int endpoint) {
+        return ((endpoint >> 6) & 0b111111) - 1;
+    }
+
+    static int y(int endpoint) {
+        return (endpoint & 0b111111) - 1;
+    }
+}
@@ -0,0 +1,160 @@
+package bobby;
+
+import battlecode.common.Clock;
+import battlecode.common.GameConstants;
+import battlecode.common.MapLocation;
+import battlecode.common.RobotController;
+
+/**
+ * Picks where to explore next: a cluster of unseen tiles on the edge of what we've already seen,
+ * trading off how much it would reveal against how far it is.
+ *
+ * Works straight on WorldMap.known, where each 64-bit word is one column of the map (bit y + 1 of
+ * word x + 1), so the frontier (unseen tiles next to seen ones) is a few bitwise ops per column.
+ * Frontier tiles are then clustered into BLOCK x BLOCK blocks. Known walls count as seen, so a
+ * frontier behind a wall might be unreachable; Pathing.explore gives up on those after a while.
+ */
+public class Frontier {
+
+    static final int BLOCK = 4;
+    static final int BLOCKS_PER_SIDE = (GameConstants.MAP_MAX_WIDTH + BLOCK - 1) / BLOCK;
+    static final long BLOCK_ROWS = (1L << BLOCK) - 1;
+
+    static final int BYTECODE_CAP = 6000; // don't start picking with less than this left.
+    static final int TILE_WEIGHT = 2; // each frontier tile in a block is worth this many tiles of distance.
+    static final int EARLY_GAME = 150; // rounds during which we favor likely wells and islands.
+    static final int HINT_BONUS = 16;
+    static final int SKIP_ROUNDS = 100; // how long to avoid a block we couldn't reach.
+
+    private static final long[] frontier = new long[WorldMap.SIZE >> 6]; // same layout as WorldMap.known
+    private static int scannedVersion = 0;
+
+    private static final int[] skipUntil = new int[BLOCKS_PER_SIDE * BLOCKS_PER_SIDE];
+    private static final int[] hintStamps = new int[BLOCKS_PER_SIDE * BLOCKS_PER_SIDE];
+    private static int hintStamp = 0;
+
+    // Returns a frontier tile to explore, or null if there's none (everything's been seen) or not
+    // enough bytecode left to look.
+    static MapLocation pick(RobotController rc) {
+        if (Clock.getBytecodesLeft() < BYTECODE_CAP) {
+            return null;
+        }
+        int width = rc.getMapWidth();
+        int height = rc.getMapHeight();
+        if (scannedVersion != WorldMap.version) {
+            scan(width, height);
+            scannedVersion = WorldMap.version;
+        }
+        int round = rc.getRoundNum();
+        boolean early = round < EARLY_GAME;
+        if (early) {
+            markHints();
+        }
+
+        MapLocation here = rc.getLocation();
+        int blocksWide = (width + BLOCK - 1) / BLOCK;
+        int blocksHigh = (height + BLOCK - 1) / BLOCK;
+        int bestScore = Integer.MIN_VALUE;
+        int bestBlock = -1;
+        for (int bx = blocksWide; --bx >= 0; ) {
+            int col = bx * BLOCK + 1; // word of the block's first column
+            long f0 = frontier[col];
+            long f1 = frontier[col + 1];
+            long f2 = frontier[col + 2];
+            long f3 = frontier[col + 3];
+            long any = f0 | f1 | f2 | f3;
+            if (any == 0) {
+                continue;
+            }
+            int dx = bx * BLOCK + (BLOCK >> 1) - here.x;
+            if (dx < 0) dx = -dx;
+            for (int by = blocksHigh; --by >= 0; ) {
+                long rows = BLOCK_ROWS << (by * BLOCK + 1);
+                if ((any & rows) == 0) {
+                    continue;
+                }
+                int block = bx * BLOCKS_PER_SIDE + by;
+                if (skipUntil[block] > round) {
+                    continue;
+                }
+                int dy = by * BLOCK + (BLOCK >> 1) - here.y;
+                if (dy < 0) dy = -dy;
+                int score = TILE_WEIGHT * (Long.bitCount(f0 & rows) + Long.bitCount(f1 & rows)
+                        + Long.bitCount(f2 & rows) + Long.bitCount(f3 & rows)) - (dx > dy ? dx : dy);
+                if (early && hintStamps[block] == hintStamp) {
+                    score += HINT_BONUS;
+                }
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestBlock = block;
+                }
+            }
+        }
+        if (bestBlock < 0) {
+            return null;
+        }
+
+        // Any frontier tile of the block will do; prefer the middle columns.
+        int bx = bestBlock / BLOCKS_PER_SIDE;
+        long rows = BLOCK_ROWS << ((bestBlock % BLOCKS_PER_SIDE) * BLOCK + 1);
+        int col = bx * BLOCK + 1;
+        for (int i = 0; i < BLOCK; i++) {
+            int c = col + ((i + (BLOCK >> 1)) % BLOCK);
+            long bits = frontier[c] & rows;
+            if (bits != 0) {
+                return new MapLocation(c - 1, Long.numberOfTrailingZeros(bits) - 1);
+            }
+        }
+        return null; // can't happen: the block had frontier tiles.
+    }
+
+    // Don't pick loc's block again for a while (e.g. because we couldn't get there).
+    static void skip(RobotController rc, MapLocation loc) {
+        skipUntil[(loc.x / BLOCK) * BLOCKS_PER_SIDE + loc.y / BLOCK] = rc.getRoundNum() + SKIP_ROUNDS;
+    }
+
+    // Recomputes the frontier: tiles we haven't seen with a seen tile N, S, E or W of them.
+    static void scan(int width, int height) {
+        long[] known = WorldMap.known;
+        long onMap = ((1L << height) - 1) << 1;
+        for (int c = width; c >= 1; c--) {
+            long seen = known[c];
+            frontier[c] = ~seen & onMap & (known[c - 1] | known[c + 1] | (seen << 1) | (seen >>> 1));
+        }
+    }
+
+    static boolean isFrontier(int x, int y) {
+        return (frontier[x + 1] & (1L << (y + 1))) != 0;
+    }
+
+    // Wells and islands come in groups, so blocks around the ones we know about (including the
+    // ones we only know about by symmetry) are worth a look.
+    private static void markHints() {
+        hintStamp++;
+        for (Memory.Well well : RobotPlayer.knownWells.values()) {
+            markAround(well.loc.x, well.loc.y);
+        }
+        for (int i = WorldMap.numMirroredWells; --i >= 0; ) {
+            int idx = WorldMap.mirroredWells[i];
+            markAround((idx >> 6) - 1, (idx & 0b111111) - 1);
+        }
+        for (int id = WorldMap.mirroredIslands.length; --id > 0; ) {
+            int idx = WorldMap.mirroredIslands[id];
+            if (idx != 0) {
+                markAround((idx >> 6) - 1, (idx & 0b111111) - 1);
+            }
+        }
+    }
+
+    private static void markAround(int x, int y) {
+        int bx = x / BLOCK;
+        int by = y / BLOCK;
+        for (int i = bx - 1; i <= bx + 1; i++) {
+            for (int j = by - 1; j <= by + 1; j++) {
+                if (i >= 0 && j >= 0 && i < BLOCKS_PER_SIDE && j < BLOCKS_PER_SIDE) {
+                    hintStamps[i * BLOCKS_PER_SIDE + j] = hintStamp;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package bobby;
+
+import battlecode.common.MapLocation;
+
+/**
+ * Exact integer geometry on tiles. No doubles, no rounding, no special cases for vertical or
+ * horizontal lines.
+ */
+public class Geometry {
+
+    static int distSq(int ax, int ay, int bx, int by) {
+        int dx = bx - ax;
+        int dy = by - ay;
+        return dx * dx + dy * dy;
+    }
+
+    // Whether p is one of the tiles Bresenham would draw for the line through a and b, i.e. along
+    // the major axis, p is the closest tile to the line (ties count as on the line).
+    static boolean onMLine(MapLocation a, MapLocation b, MapLocation p) {
+        int dx = b.x - a.x;
+        int dy = b.y - a.y;
+        int c = dx * (p.y - a.y) - dy * (p.x - a.x);
+        if (c < 0) c = -c;
+        if (dx < 0) dx = -dx;
+        if (dy < 0) dy = -dy;
+        if (dx == 0 && dy == 0) {
+            return p.x == a.x && p.y == a.y;
+        }
+        // The distance along the minor axis is |c| / major, and Bresenham keeps it <= 1/2.
+        return 2 * c <= (dx > dy ? dx : dy);
+    }
+}
@@ -54,16 +54,29 @@ public class Headquarter extends RobotPlayer {
         adamantiumRate.add(currentAd - endingAd);
         manaRate.add(currentMana - endingMana);
 
-        nearbyEnemies = null;
+        nearbyEnemies = rc.senseNearbyRobots(-1, rc.getTeam().opponent());
+        Heatmap.record(rc, nearbyEnemies);
+
+        if (rc.getRoundNum() >= 2 && knownHQs.indexOf(rc.getLocation()) == 0) {
+            Occupancy.decay(rc);
+            Heatmap.decay(rc);
+        }
 
         // Write down my location and any wells I see when I am born. These
         // things don't really change (well, wells may change in the future).
         if (rc.getRoundNum() == 1) {
             Memory.writeHeadquarter(rc, rc.getLocation(), true, true);
 
+            // We never move, so this is all the terrain we'll ever see ourselves.
+            WorldMap.update(rc);
+
             // Write down any wells I see.
             WellInfo[] wellInfos = rc.senseNearbyWells();
-            Memory.maybeWriteWells(rc, wellInfos);
+            WorldMap.recordWells(wellInfos);
+            for (WellInfo info : wellInfos) {
+                WriteQueue.add(WriteQueue.WELL, Memory.encodeWell(Memory.Well.from(info, null)), WriteQueue.PRIORITY_WELL);
+            }
+            WriteQueue.flush(rc);
             knownWells = Memory.readWells(rc); // wasteful but easy
             updateWellsNearMe(rc);
 
@@ -73,6 +86,9 @@ public class Headquarter extends RobotPlayer {
             } else {
                 priority = Priority.ECONOMY;
             }
+            if (BENCHMARK && Memory.readHeadquarters(rc, true, true).size() == 1) {
+                LocBench.run(rc);
+            }
         } else if (rc.getRoundNum() == 2) { // let other HQs write first.
             knownHQs = Memory.readHeadquarters(rc, true, true);
             knownWells = Memory.readWells(rc);
@@ -91,7 +107,7 @@ public class Headquarter extends RobotPlayer {
                     }
                 }
 
-                // TODO: call for help.
+                Messages.post(rc, Messages.HQ_UNDER_SIEGE, rc.getLocation());
                 // TODO: should we also build carriers?
                 break;
             }
@@ -118,7 +134,8 @@ public class Headquarter extends RobotPlayer {
 
             // 3) Build as many Carriers and Launchers as possible. This may change later in
             // late-game. Since these use independent resources, let's just go crazy.
-            switch (priority) {
+            // If there's fighting around us, launchers first regardless.
+            switch (Heatmap.around(rc, rc.getLocation()) == Heatmap.HOT ? Priority.MILITARY : priority) {
                 case MILITARY:
                     while (attemptToBuild(rc, RobotType.LAUNCHER)) {
                     }
@@ -0,0 +1,160 @@
+package bobby;
+
+import battlecode.common.GameActionException;
+import battlecode.common.MapLocation;
+import battlecode.common.RobotController;
+import battlecode.common.RobotInfo;
+import battlecode.common.RobotType;
+
+/**
+ * Where we've seen enemies lately, on a coarse SECTORS x SECTORS grid over the map, so that
+ * launchers go where the fighting is instead of only ever marching on HQs.
+ *
+ * Each sector has a level from 0 (nothing lately) to HOT (enemies that shoot back). Everyone folds
+ * in the enemies they sense; the first HQ cools every sector down by one every DECAY_ROUNDS
+ * rounds, so a sighting is forgotten about HOT * DECAY_ROUNDS rounds later.
+ */
+public class Heatmap {
+
+    static final int SECTORS = 6;
+    static final int NUM_SECTORS = SECTORS * SECTORS;
+    static final int PER_SLOT = MemoryLayout.ENEMY_HEAT_LEVEL_COUNT;
+
+    static final int WARM = 2; // anything but HQs.
+    static final int HOT = 3; // launchers and destabilizers.
+
+    static final int DECAY_ROUNDS = 4;
+
+    // Sightings we couldn't write yet. Dropped once they'd have cooled down anyway.
+    private static final int[] pending = new int[NUM_SECTORS];
+    private static long pendingMask = 0;
+    private static int pendingRound = 0;
+
+    static int sector(RobotController rc, MapLocation loc) {
+        return (loc.x * SECTORS / rc.getMapWidth()) * SECTORS + loc.y * SECTORS / rc.getMapHeight();
+    }
+
+    static MapLocation center(RobotController rc, int sector) {
+        int sx = sector / SECTORS;
+        int sy = sector % SECTORS;
+        return new MapLocation((2 * sx + 1) * rc.getMapWidth() / (2 * SECTORS), (2 * sy + 1) * rc.getMapHeight() / (2 * SECTORS));
+    }
+
+    static int level(int sector) {
+        return MemoryLayout.enemyHeatLevel(MemoryLayout.readEnemyHeat(sector / PER_SLOT), sector % PER_SLOT);
+    }
+
+    // Folds in enemies we just sensed (and writes them, if we're in range).
+    static void record(RobotController rc, RobotInfo[] enemies) throws GameActionException {
+        int round = rc.getRoundNum();
+        if (pendingMask != 0 && round - pendingRound >= HOT * DECAY_ROUNDS) {
+            pendingMask = 0; // too old to matter.
+        }
+        for (int i = enemies.length; --i >= 0; ) {
+            RobotInfo enemy = enemies[i];
+            RobotType type = enemy.getType();
+            if (type == RobotType.HEADQUARTERS) {
+                continue; // we know where those are, and they don't go anywhere.
+            }
+            int level = type == RobotType.LAUNCHER || type == RobotType.DESTABILIZER ? HOT : WARM;
+            int sector = sector(rc, enemy.getLocation());
+            if (level(sector) >= level) {
+                continue;
+            }
+            long bit = 1L << sector;
+            if ((pendingMask & bit) == 0) {
+                pending[sector] = level;
+                pendingMask |= bit;
+                pendingRound = round;
+            } else if (pending[sector] < level) {
+                pending[sector] = level;
+            }
+        }
+        flush(rc);
+    }
+
+    private static void flush(RobotController rc) throws GameActionException {
+        if (pendingMask == 0 || !rc.canWriteSharedArray(0, 0)) {
+            return;
+        }
+        while (pendingMask != 0) {
+            int i = Long.numberOfTrailingZeros(pendingMask) / PER_SLOT;
+            int data = MemoryLayout.readEnemyHeat(i);
+            for (int j = PER_SLOT; --j >= 0; ) {
+                int sector = i * PER_SLOT + j;
+                long bit = 1L << sector;
+                if ((pendingMask & bit) != 0) {
+                    if (MemoryLayout.enemyHeatLevel(data, j) < pending[sector]) {
+                        data = MemoryLayout.withEnemyHeatLevel(data, j, pending[sector]);
+                    }
+                    pendingMask &= ~bit;
+                }
+            }
+            MemoryLayout.writeEnemyHeat(rc, i, data);
+        }
+    }
+
+    // Called by one HQ at the start of every round.
+    static void decay(RobotController rc) throws GameActionException {
+        if (rc.getRoundNum() % DECAY_ROUNDS != 0) {
+            return;
+        }
+        for (int i = MemoryLayout.ENEMY_HEAT_SIZE; --i >= 0; ) {
+            int data = MemoryLayout.readEnemyHeat(i);
+            if (data != 0) {
+                MemoryLayout.writeEnemyHeat(rc, i, cooled(data));
+            }
+        }
+    }
+
+    // Takes one off every non-zero level in a slot at once. Subtracting 1 from a non-zero 2-bit
+    // level never borrows from the next one.
+    static int cooled(int data) {
+        return data - ((data | (data >>> 1)) & 0x5555);
+    }
+
+    // Center of the sector at least minLevel hot that's closest to loc, or null if there's none.
+    static MapLocation closest(RobotController rc, MapLocation loc, int minLevel) {
+        int width = rc.getMapWidth();
+        int height = rc.getMapHeight();
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int i = MemoryLayout.ENEMY_HEAT_SIZE; --i >= 0; ) {
+            int data = MemoryLayout.readEnemyHeat(i);
+            if (data == 0) {
+                continue;
+            }
+            for (int j = PER_SLOT; --j >= 0; ) {
+                int sector = i * PER_SLOT + j;
+                if (sector >= NUM_SECTORS || MemoryLayout.enemyHeatLevel(data, j) < minLevel) {
+                    continue;
+                }
+                int dx = (2 * (sector / SECTORS) + 1) * width / (2 * SECTORS) - loc.x;
+                int dy = (2 * (sector % SECTORS) + 1) * height / (2 * SECTORS) - loc.y;
+                int distance = dx * dx + dy * dy;
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    best = sector;
+                }
+            }
+        }
+        return best < 0 ? null : center(rc, best);
+    }
+
+    // Hottest level in loc's sector and the ones around it.
+    static int around(RobotController rc, MapLocation loc) {
+        int sector = sector(rc, loc);
+        int sx = sector / SECTORS;
+        int sy = sector % SECTORS;
+        int max = 0;
+        for (int x = Math.max(0, sx - 1); x <= Math.min(SECTORS - 1, sx + 1); x++) {
+            for (int y = Math.max(0, sy - 1); y <= Math.min(SECTORS - 1, sy + 1); y++) {
+                int level = level(x * SECTORS + y);
+                if (level > max) {
+                    max = level;
+                }
+            }
+        }
+        return max;
+    }
+}
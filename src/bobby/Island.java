@@ -5,30 +5,104 @@ import battlecode.common.MapLocation;
 import battlecode.common.RobotController;
 import battlecode.common.Team;
 
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Arrays;
 
+/**
+ * What we know about an island: the tiles we've seen, who holds it, and with what anchor.
+ *
+ * Tiles are indexed so that "where's the closest tile" is cheap enough to ask of every island
+ * every turn: besides the bounding box and centroid, we keep one representative tile per CELL x
+ * CELL cell of the map the island covers (the one closest to the cell's center). closest() picks
+ * among the representatives, which is off by at most a cell, and only looks at every tile once
+ * we're close enough for that to matter.
+ */
 public class Island {
 
     private static final int ANCHOR_HP_STANDARD = 250;
     private static final int ANCHOR_HP_ACCELERATING = 750;
 
+    static final int CELL = 3;
+    static final int EXACT_RADIUS_SQUARED = 20; // closer than this, closest() is exact.
+
     int id;
-    Set<MapLocation> locations;
+    StringLocSet tiles = new StringLocSet(); // see Memory.encodeMapLocation
+    MapLocation any; // one of the locations, e.g. to estimate distances cheaply.
     Team team;
 
+    // Bounding box, inclusive.
+    int minX = Integer.MAX_VALUE;
+    int minY = Integer.MAX_VALUE;
+    int maxX = Integer.MIN_VALUE;
+    int maxY = Integer.MIN_VALUE;
+    private int sumX = 0;
+    private int sumY = 0;
+
+    private int[] cells = new int[8]; // (x / CELL) << 6 | (y / CELL), for each representative
+    private int[] reps = new int[8]; // encoded tile
+    private int numReps = 0;
+
     // Only set if occupied (i.e. team != Team.NEUTRAL)
     Anchor anchor = null;
     int health = 0;
 
     int asOf;
 
-    public Island(int id, Collection<MapLocation> locs, Team team, int asOf) {
+    public Island(int id, MapLocation[] locs, Team team, int asOf) {
         this.id = id;
-        this.locations = new HashSet<>(locs);
+        this.any = locs[0];
         this.team = team;
         this.asOf = asOf;
+        add(locs);
+    }
+
+    void add(MapLocation[] locs) {
+        for (MapLocation loc : locs) {
+            add(loc.x, loc.y);
+        }
+    }
+
+    private void add(int x, int y) {
+        if (!tiles.add(WorldMap.index(x, y))) {
+            return;
+        }
+        if (x < minX) minX = x;
+        if (x > maxX) maxX = x;
+        if (y < minY) minY = y;
+        if (y > maxY) maxY = y;
+        sumX += x;
+        sumY += y;
+
+        int cell = ((x / CELL) << 6) | (y / CELL);
+        int i = numReps;
+        while (--i >= 0 && cells[i] != cell) {
+        }
+        if (i < 0) {
+            if (numReps == reps.length) {
+                cells = Arrays.copyOf(cells, numReps * 2);
+                reps = Arrays.copyOf(reps, numReps * 2);
+            }
+            cells[numReps] = cell;
+            reps[numReps++] = WorldMap.index(x, y);
+            return;
+        }
+        int center = CELL >> 1;
+        int rep = reps[i];
+        if (Geometry.distSq(x % CELL, y % CELL, center, center)
+                < Geometry.distSq(((rep >> 6) - 1) % CELL, ((rep & 0b111111) - 1) % CELL, center, center)) {
+            reps[i] = WorldMap.index(x, y);
+        }
+    }
+
+    MapLocation centroid() {
+        int n = tiles.size();
+        return new MapLocation(sumX / n, sumY / n);
+    }
+
+    // Lower bound on the distance (squared) from loc to any tile.
+    int distanceSquaredToBox(MapLocation loc) {
+        int dx = loc.x < minX ? minX - loc.x : loc.x > maxX ? loc.x - maxX : 0;
+        int dy = loc.y < minY ? minY - loc.y : loc.y > maxY ? loc.y - maxY : 0;
+        return dx * dx + dy * dy;
     }
 
     public void clearOccupier() {
@@ -44,20 +118,38 @@ public class Island {
     }
 
     public MapLocation closest(RobotController rc) {
-        int closestDist = Integer.MAX_VALUE;
-        MapLocation closest = null;
-        for (MapLocation loc : locations) {
-            int dist = rc.getLocation().distanceSquaredTo(loc);
-            if (dist < closestDist) {
-                closestDist = dist;
-                closest = loc;
+        return closest(rc.getLocation());
+    }
+
+    // Closest tile to from, or one at most a cell's diagonal further away when we're far.
+    MapLocation closest(MapLocation from) {
+        int x = from.x;
+        int y = from.y;
+        int best = reps[0];
+        int bestDist = Integer.MAX_VALUE;
+        for (int i = numReps; --i >= 0; ) {
+            int rep = reps[i];
+            int dist = Geometry.distSq(x, y, (rep >> 6) - 1, (rep & 0b111111) - 1);
+            if (dist < bestDist) {
+                bestDist = dist;
+                best = rep;
+            }
+        }
+        if (distanceSquaredToBox(from) <= EXACT_RADIUS_SQUARED) { // close by, so the cells are too coarse.
+            for (int i = tiles.size(); --i >= 0; ) {
+                int tile = tiles.get(i);
+                int dist = Geometry.distSq(x, y, (tile >> 6) - 1, (tile & 0b111111) - 1);
+                if (dist < bestDist) {
+                    bestDist = dist;
+                    best = tile;
+                }
             }
         }
-        return closest;
+        return Memory.decodeMapLocation(best);
     }
 
     public MapLocation random(RobotController rc) {
-        return locations.iterator().next(); // TODO: pick better
+        return tiles.getLocation(RobotPlayer.rng.nextInt(tiles.size()));
     }
 
     public boolean shouldAnchor(RobotController rc, Anchor newAnchor, int healthLimitPct) {
@@ -17,6 +17,11 @@ public class Launcher extends RobotPlayer {
 
     // 18 (3^2 + 3^2). if it's less, then they enter  radius 9 :facepalm:
     private static int OUTSIDE_HQ_ACTION_RADIUS = RobotType.HEADQUARTERS.actionRadiusSquared + 9;
+    // How far we'll go to answer a call for help.
+    private static final int SIEGE_HELP_RADIUS_SQUARED = 900;
+    private static final int FIGHT_HELP_RADIUS_SQUARED = 200;
+    // How far leaders will go towards a sector where enemy launchers were seen lately.
+    private static final int HEAT_RADIUS_SQUARED = 400;
 
     private static RobotInfo leader = null;
     private static boolean amLeader = false;
@@ -26,16 +31,23 @@ public class Launcher extends RobotPlayer {
     private static boolean targetHQConfirmed = false;
     private static int knownEnemiesAtTargetSelection;
     private static int memoryEnemiesAtTargetSelection;
+    private static int enemyHQVersionChecked = -1;
+    private static int memoryNotEnemiesChecked = -1;
 
     public static void run(RobotController rc) throws GameActionException {
         rc.setIndicatorString("START");
 
         updateKnowledge(rc, false);
+        WorldMap.update(rc);
+        Messages.flush(rc); // sightings from while we were out of range.
 
         electLeader(rc);
 
         // Attacking takes priority. If attacked, move away.
         boolean attackedEnemy = maybeAttackEnemy(rc);
+        if (target != null && target.getType() == RobotType.LAUNCHER) {
+            Messages.post(rc, Messages.ENEMIES_SIGHTED, target.getLocation()); // bring friends.
+        }
         if (attackedEnemy) { // move back
             Pathing.moveAway(rc, target.getLocation(), false);
         }
@@ -60,7 +72,7 @@ public class Launcher extends RobotPlayer {
         maybeAttackEnemy(rc); // in case an enemy became visible after we moved.
 
         // Maybe flush to shared memory.
-        maybeFlushEnemyHQs(rc);
+        maybeFlushWrites(rc);
 
         // Extra attack, if possible.
         if (!attackedEnemy) {
@@ -90,6 +102,7 @@ public class Launcher extends RobotPlayer {
     private static boolean maybeAttackEnemy(RobotController rc) throws GameActionException {
         int radius = rc.getType().actionRadiusSquared;
         RobotInfo[] enemies = rc.senseNearbyRobots(radius, rc.getTeam().opponent());
+        Heatmap.record(rc, enemies);
         target = pickEnemy(enemies);
         if (target != null) {
             if (rc.canAttack(target.getLocation())) {
@@ -157,12 +170,21 @@ public class Launcher extends RobotPlayer {
     }
 
     private static void moveTowardsEnemy(RobotController rc) throws GameActionException {
+        if (moveTowardsHelp(rc)) {
+            return;
+        }
         if (rc.getRoundNum() < 50) { // rendezvous in the middle at first.
             Pathing.moveTowards(rc, Mapping.mapCenter(rc), 4);
             return;
         }
 
         if (amLeader) {
+            // Fight where the enemies are, rather than where their HQs are.
+            MapLocation hot = Heatmap.closest(rc, rc.getLocation(), Heatmap.HOT);
+            if (hot != null && rc.getLocation().isWithinDistanceSquared(hot, HEAT_RADIUS_SQUARED)) {
+                Pathing.moveTowards(rc, hot, 4);
+                return;
+            }
             int radius = CLOUD_VISION_RADIUS; // get closer to unknown locations.
             if (targetHQConfirmed || memoryEnemyHQs.contains(targetHQ)) {
                 // Stay afar from enemy HQ's damage radius.
@@ -179,9 +201,33 @@ public class Launcher extends RobotPlayer {
         }
     }
 
+    // Answers calls for help (see Messages): a besieged HQ, or a fight nearby. Returns true if we
+    // moved towards one.
+    private static boolean moveTowardsHelp(RobotController rc) throws GameActionException {
+        MapLocation here = rc.getLocation();
+        MapLocation help = Messages.active(rc, Messages.HQ_UNDER_SIEGE);
+        if (help == null || !here.isWithinDistanceSquared(help, SIEGE_HELP_RADIUS_SQUARED)) {
+            help = Messages.active(rc, Messages.ENEMIES_SIGHTED);
+            if (help != null && !here.isWithinDistanceSquared(help, FIGHT_HELP_RADIUS_SQUARED)) {
+                help = null;
+            }
+        }
+        if (help == null) {
+            return false;
+        }
+        Pathing.moveTowards(rc, help, 4);
+        return true;
+    }
+
     private static void refreshTargetHQ(RobotController rc) {
-        if (memoryNotEnemyHQs.contains(targetHQ) || knownNotEnemyHQs.contains(targetHQ)) {
-            targetHQ = null; // unset so we choose a new target.
+        // Only look for our target among the non-HQs if there's news about them.
+        int version = Memory.version(Memory.ENEMY_HQ_VERSION);
+        if (version != enemyHQVersionChecked || memoryNotEnemyHQs.size() != memoryNotEnemiesChecked) {
+            enemyHQVersionChecked = version;
+            memoryNotEnemiesChecked = memoryNotEnemyHQs.size();
+            if (memoryNotEnemyHQs.contains(targetHQ) || knownNotEnemyHQs.contains(targetHQ)) {
+                targetHQ = null; // unset so we choose a new target.
+            }
         }
         if (knownEnemyHQs.size() != knownEnemiesAtTargetSelection || memoryEnemyHQs.size() != memoryEnemiesAtTargetSelection) {
             targetHQ = null; // force target reselection if information changes.
@@ -0,0 +1,108 @@
+package bobby;
+
+import battlecode.common.Clock;
+import battlecode.common.MapLocation;
+import battlecode.common.RobotController;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bytecode cost of LocSet/LocMap/LocList (and StringLocSet) against the JDK collections they
+ * replace, measured by the real instrumenter (so it has to run in a game; unit tests don't count
+ * bytecode). Turn on RobotPlayer.BENCHMARK and look at the first HQ's output on round 1.
+ *
+ * Every number is the average bytecode per operation over N distinct locations.
+ */
+public class LocBench {
+
+    static final int N = 24;
+
+    static void run(RobotController rc) {
+        MapLocation[] locs = new MapLocation[N];
+        int[] keys = new int[N];
+        for (int i = N; --i >= 0; ) {
+            locs[i] = new MapLocation((i * 7) % rc.getMapWidth(), (i * 13) % rc.getMapHeight());
+            keys[i] = Memory.encodeMapLocation(locs[i]);
+        }
+
+        Set<MapLocation> hashSet = new HashSet<>();
+        LocSet locSet = new LocSet();
+        int start = Clock.getBytecodeNum();
+        for (int i = N; --i >= 0; ) hashSet.add(locs[i]);
+        int hashSetAdd = Clock.getBytecodeNum() - start;
+        start = Clock.getBytecodeNum();
+        for (int i = N; --i >= 0; ) hashSet.contains(locs[i]);
+        int hashSetContains = Clock.getBytecodeNum() - start;
+        start = Clock.getBytecodeNum();
+        for (MapLocation loc : hashSet) ;
+        int hashSetIterate = Clock.getBytecodeNum() - start;
+        start = Clock.getBytecodeNum();
+        for (int i = N; --i >= 0; ) locSet.add(keys[i]);
+        int locSetAdd = Clock.getBytecodeNum() - start;
+        start = Clock.getBytecodeNum();
+        for (int i = N; --i >= 0; ) locSet.contains(keys[i]);
+        int locSetContains = Clock.getBytecodeNum() - start;
+        start = Clock.getBytecodeNum();
+        for (int loc = locSet.next(0); loc >= 0; loc = locSet.next(loc + 1)) ;
+        int locSetIterate = Clock.getBytecodeNum() - start;
+
+        StringLocSet stringSet = new StringLocSet();
+        start = Clock.getBytecodeNum();
+        for (int i = N; --i >= 0; ) stringSet.add(keys[i]);
+        int stringSetAdd = Clock.getBytecodeNum() - start;
+        start = Clock.getBytecodeNum();
+        for (int i = N; --i >= 0; ) stringSet.contains(keys[i]);
+        int stringSetContains = Clock.getBytecodeNum() - start;
+        for (int i = 0; i < 500; i++) {
+            stringSet.add(WorldMap.index(i % 50, i / 50 + 20));
+        }
+        start = Clock.getBytecodeNum();
+        for (int i = N; --i >= 0; ) stringSet.contains(keys[i]);
+        int stringSetContainsBig = Clock.getBytecodeNum() - start;
+
+        Map<MapLocation, Integer> hashMap = new HashMap<>();
+        LocMap locMap = new LocMap(N);
+        start = Clock.getBytecodeNum();
+        for (int i = N; --i >= 0; ) hashMap.put(locs[i], i);
+        int hashMapPut = Clock.getBytecodeNum() - start;
+        start = Clock.getBytecodeNum();
+        for (int i = N; --i >= 0; ) hashMap.get(locs[i]);
+        int hashMapGet = Clock.getBytecodeNum() - start;
+        start = Clock.getBytecodeNum();
+        for (int i = N; --i >= 0; ) locMap.put(keys[i], i);
+        int locMapPut = Clock.getBytecodeNum() - start;
+        start = Clock.getBytecodeNum();
+        for (int i = N; --i >= 0; ) locMap.get(keys[i], -1);
+        int locMapGet = Clock.getBytecodeNum() - start;
+
+        List<MapLocation> arrayList = new ArrayList<>();
+        LocList locList = new LocList(N);
+        start = Clock.getBytecodeNum();
+        for (int i = N; --i >= 0; ) arrayList.add(locs[i]);
+        int arrayListAdd = Clock.getBytecodeNum() - start;
+        start = Clock.getBytecodeNum();
+        for (int i = N; --i >= 0; ) arrayList.contains(locs[i]);
+        int arrayListContains = Clock.getBytecodeNum() - start;
+        start = Clock.getBytecodeNum();
+        for (int i = N; --i >= 0; ) locList.add(keys[i]);
+        int locListAdd = Clock.getBytecodeNum() - start;
+        start = Clock.getBytecodeNum();
+        for (int i = N; --i >= 0; ) locList.contains(keys[i]);
+        int locListContains = Clock.getBytecodeNum() - start;
+
+        System.out.printf("LocBench (bytecode per op, n=%d):\n", N);
+        System.out.printf("  set  add %d/%d, contains %d/%d, iterate %d/%d (HashSet/LocSet)\n",
+                hashSetAdd / N, locSetAdd / N, hashSetContains / N, locSetContains / N, hashSetIterate / N, locSetIterate / N);
+        System.out.printf("  string set add %d, contains %d (with %d more: %d)\n",
+                stringSetAdd / N, stringSetContains / N, stringSet.size() - N, stringSetContainsBig / N);
+        System.out.printf("  map  put %d/%d, get %d/%d (HashMap/LocMap)\n",
+                hashMapPut / N, locMapPut / N, hashMapGet / N, locMapGet / N);
+        System.out.printf("  list add %d/%d, contains %d/%d (ArrayList/LocList)\n",
+                arrayListAdd / N, locListAdd / N, arrayListContains / N, locListContains / N);
+    }
+}
@@ -0,0 +1,91 @@
+package bobby;
+
+import battlecode.common.MapLocation;
+
+/**
+ * Small list of distinct map locations (keyed by Memory.encodeMapLocation), in insertion order,
+ * with O(1) contains. Meant for the handful of HQs/wells/targets we keep around and check against
+ * in loops, where List.contains would be O(n) equals() calls.
+ *
+ * Iterate with:
+ *     for (int i = list.size(); --i >= 0; ) { int loc = list.get(i); ... }
+ */
+public class LocList {
+
+    private final int[] items;
+    private final int[] positions = new int[WorldMap.SIZE]; // (epoch << 16) | (index + 1); good for 65535 clears.
+    private int epoch = 1;
+    private int size = 0;
+
+    LocList(int capacity) {
+        items = new int[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int get(int i) {
+        return items[i];
+    }
+
+    MapLocation getLocation(int i) {
+        return Memory.decodeMapLocation(items[i]);
+    }
+
+    void clear() {
+        epoch++;
+        size = 0;
+    }
+
+    private int indexOf(int loc) {
+        int p = positions[loc];
+        return (p >>> 16) == epoch ? (p & 0xFFFF) - 1 : -1;
+    }
+
+    boolean contains(int loc) {
+        return (positions[loc] >>> 16) == epoch;
+    }
+
+    boolean contains(MapLocation loc) {
+        return contains(Memory.encodeMapLocation(loc));
+    }
+
+    // Appends loc. Returns false if it was already there, or the list is full.
+    boolean add(int loc) {
+        if (contains(loc) || size == items.length) {
+            return false;
+        }
+        items[size] = loc;
+        positions[loc] = (epoch << 16) | ++size;
+        return true;
+    }
+
+    boolean add(MapLocation loc) {
+        return add(Memory.encodeMapLocation(loc));
+    }
+
+    // Removes loc, keeping the order of the rest. O(size).
+    boolean remove(int loc) {
+        int i = indexOf(loc);
+        if (i < 0) {
+            return false;
+        }
+        positions[loc] = 0;
+        size--;
+        for (; i < size; i++) {
+            int moved = items[i + 1];
+            items[i] = moved;
+            positions[moved] = (epoch << 16) | (i + 1);
+        }
+        return true;
+    }
+
+    boolean remove(MapLocation loc) {
+        return remove(Memory.encodeMapLocation(loc));
+    }
+}
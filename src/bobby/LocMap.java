@@ -0,0 +1,64 @@
+package bobby;
+
+import battlecode.common.MapLocation;
+
+/**
+ * Map from map locations (keyed by Memory.encodeMapLocation) to ints, as a dense array over every
+ * possible key. get/put/remove are a few array accesses and clear() is O(1); the catch is the
+ * ~32KB per instance, so keep these few and long-lived. Store indices into your own array to map
+ * to objects.
+ *
+ * Keys are kept in a LocList, so iteration is in insertion order and costs O(size).
+ */
+public class LocMap {
+
+    private final int[] values = new int[WorldMap.SIZE];
+    private final LocList keys;
+
+    LocMap(int capacity) {
+        keys = new LocList(capacity);
+    }
+
+    int size() {
+        return keys.size();
+    }
+
+    void clear() {
+        keys.clear();
+    }
+
+    boolean containsKey(int loc) {
+        return keys.contains(loc);
+    }
+
+    // Value for loc, or missing if there's none.
+    int get(int loc, int missing) {
+        return keys.contains(loc) ? values[loc] : missing;
+    }
+
+    int get(MapLocation loc, int missing) {
+        return get(Memory.encodeMapLocation(loc), missing);
+    }
+
+    // Returns false if the map is full (and loc wasn't in it).
+    boolean put(int loc, int value) {
+        if (!keys.contains(loc) && !keys.add(loc)) {
+            return false;
+        }
+        values[loc] = value;
+        return true;
+    }
+
+    boolean put(MapLocation loc, int value) {
+        return put(Memory.encodeMapLocation(loc), value);
+    }
+
+    boolean remove(int loc) {
+        return keys.remove(loc);
+    }
+
+    // The i-th key, in insertion order.
+    int keyAt(int i) {
+        return keys.get(i);
+    }
+}
@@ -0,0 +1,100 @@
+package bobby;
+
+import battlecode.common.MapLocation;
+
+/**
+ * Set of map locations, keyed by Memory.encodeMapLocation (same as WorldMap.index). A bitset, so
+ * add/remove/contains are a handful of bytecodes with no hashing, boxing or allocation, and
+ * clear() is O(1) (see Visited for the epoch trick).
+ *
+ * Iterate with:
+ *     for (int loc = set.next(0); loc >= 0; loc = set.next(loc + 1)) { ... }
+ */
+public class LocSet {
+
+    static final int NUM_WORDS = WorldMap.SIZE >> 6;
+
+    private final long[] bits = new long[NUM_WORDS];
+    private final int[] wordEpochs = new int[NUM_WORDS];
+    private int epoch = 1;
+    private int size = 0;
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        epoch++;
+        size = 0;
+    }
+
+    boolean contains(int loc) {
+        int w = loc >> 6;
+        return wordEpochs[w] == epoch && (bits[w] & (1L << loc)) != 0;
+    }
+
+    boolean contains(MapLocation loc) {
+        return contains(Memory.encodeMapLocation(loc));
+    }
+
+    // Returns true if loc wasn't in the set already.
+    boolean add(int loc) {
+        int w = loc >> 6;
+        long bit = 1L << loc;
+        if (wordEpochs[w] != epoch) {
+            wordEpochs[w] = epoch;
+            bits[w] = bit;
+            size++;
+            return true;
+        }
+        long before = bits[w];
+        if ((before & bit) != 0) {
+            return false;
+        }
+        bits[w] = before | bit;
+        size++;
+        return true;
+    }
+
+    boolean add(MapLocation loc) {
+        return add(Memory.encodeMapLocation(loc));
+    }
+
+    // Returns true if loc was in the set.
+    boolean remove(int loc) {
+        int w = loc >> 6;
+        long bit = 1L << loc;
+        if (wordEpochs[w] != epoch || (bits[w] & bit) == 0) {
+            return false;
+        }
+        bits[w] &= ~bit;
+        size--;
+        return true;
+    }
+
+    boolean remove(MapLocation loc) {
+        return remove(Memory.encodeMapLocation(loc));
+    }
+
+    // Smallest location in the set that's >= from, or -1 if there's none.
+    int next(int from) {
+        int w = from >> 6;
+        if (w >= NUM_WORDS) {
+            return -1;
+        }
+        long word = wordEpochs[w] == epoch ? bits[w] & (-1L << from) : 0;
+        while (word == 0) {
+            if (++w == NUM_WORDS) {
+                return -1;
+            }
+            if (wordEpochs[w] == epoch) {
+                word = bits[w];
+            }
+        }
+        return (w << 6) | Long.numberOfTrailingZeros(word);
+    }
+}
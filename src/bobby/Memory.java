@@ -1,51 +1,84 @@
 package bobby;
 
+import battlecode.common.Anchor;
 import battlecode.common.Clock;
 import battlecode.common.GameActionException;
-import battlecode.common.GameConstants;
 import battlecode.common.MapLocation;
 import battlecode.common.ResourceType;
 import battlecode.common.RobotController;
+import battlecode.common.Team;
 import battlecode.common.WellInfo;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 public class Memory {
 
-    // INDECES
+    // INDECES. The layout (and the bit packing within each slot) is defined in
+    // tools/codegen/memory.layout; see MemoryLayout.
+    // Region versions: 4 bits each, bumped (mod 16) by every write to the region.
+    static final int HQ_VERSION = 0;
+    static final int WELLS_VERSION = 1;
+    static final int ISLANDS_VERSION = 2;
+    static final int ENEMY_HQ_VERSION = 3;
+
+    static final Team[] TEAMS = Team.values();
+    static final Anchor[] ANCHORS = Anchor.values();
+
     // Up to 4 HQ locations
-    static int HQ_BEGIN = 0; // inclusive
-    static int HQ_END = HQ_BEGIN + GameConstants.MAX_STARTING_HEADQUARTERS; // exclusive
+    static int HQ_BEGIN = MemoryLayout.HQ_BEGIN; // inclusive
+    static int HQ_END = MemoryLayout.HQ_END; // exclusive
 
     // Wells: 4-13 (inclusive)
-    static int WELLS_SIZE = 10;
-    static int WELLS_BEGIN = HQ_END;
-    static int WELLS_END = WELLS_BEGIN + WELLS_SIZE;
+    static int WELLS_SIZE = MemoryLayout.WELLS_SIZE;
+    static int WELLS_BEGIN = MemoryLayout.WELLS_BEGIN;
+    static int WELLS_END = MemoryLayout.WELLS_END;
 
-    // for now, we assume wells don't change, so we don't re-read already read wells.
+    // Wells that were already read are only decoded again if their slot changed (upgraded, or
+    // replaced by another well; see WriteQueue.wellVictim).
     private static Map<MapLocation, Well> wells = new HashMap<>();
     private static int lastReadWell = WELLS_BEGIN;
+    private static final int[] wellsRead = new int[WELLS_SIZE]; // slots as of the last readWells
 
-    // Island locations
-    static int ISLANDS_SIZE = 10;
-    static int ISLAND_BEGIN = WELLS_END;
-    static int ISLAND_END = ISLAND_BEGIN + ISLANDS_SIZE;
+    // Islands: 5 records of 2 slots each.
+    static int ISLANDS_SIZE = MemoryLayout.ISLAND_LOCS_SIZE;
+    static int ISLAND_BEGIN = MemoryLayout.ISLAND_LOCS_BEGIN;
+    static int ISLAND_END = MemoryLayout.ISLAND_STATES_END;
+
+    static final int ISLAND_SEEN_SHIFT = 4; // rounds are stored / 16 to fit in 7 bits.
+    static final int ISLAND_SEEN_REFRESH = 2; // only rewrite an unchanged island if it's this many (/16) rounds stale.
+    private static final int[] islandLocsRead = new int[ISLANDS_SIZE]; // slots as of the last readIslands
+    private static final int[] islandStatesRead = new int[ISLANDS_SIZE];
+    private static int islandsVersion = -1;
 
     // Enemy HQs (includes confirmed and unconfirmed)
-    static int ENEMY_HQ_SIZE = GameConstants.MAX_STARTING_HEADQUARTERS * 3; // for each HQ, there's at most 3 locations for enemy HQs.
-    static int ENEMY_HQ_BEGIN = ISLAND_END;
-    static int ENEMY_HQ_END = ENEMY_HQ_BEGIN + ENEMY_HQ_SIZE;
+    static int ENEMY_HQ_SIZE = MemoryLayout.ENEMY_HQ_SIZE; // for each HQ, there's at most 3 locations for enemy HQs.
+    static int ENEMY_HQ_BEGIN = MemoryLayout.ENEMY_HQ_BEGIN;
+    static int ENEMY_HQ_END = MemoryLayout.ENEMY_HQ_END;
 
     static List<MapLocation> enemyHqs = new ArrayList<>();
     static int lastEnemyHqRead = ENEMY_HQ_BEGIN;
 
     // ...up to 63 (i think -- doublecheck)
 
+    // Versions. A reader remembers the version it last decoded a region at, and only decodes it
+    // again once it moves. Wraps around after 16 writes, but readers look much more often than that.
+
+    static int version(int region) {
+        return MemoryLayout.headerVersion(MemoryLayout.readHeader(0), region);
+    }
+
+    // Call after writing to the region. Anyone who can write the region can write the header too.
+    static void bumpVersion(RobotController rc, int region) throws GameActionException {
+        int header = MemoryLayout.readHeader(0);
+        int next = (MemoryLayout.headerVersion(header, region) + 1) & 0b1111;
+        MemoryLayout.writeHeader(rc, 0, MemoryLayout.withHeaderVersion(header, region, next));
+    }
+
     // HQs (ally and enemy)
 
     public static boolean writeHeadquarter(RobotController rc, MapLocation hqLoc, boolean ally, boolean confirmed) throws GameActionException {
@@ -57,10 +90,12 @@ public class Memory {
         }
         // Find a space to write to first
         for (int i = begin; i < end; i++) {
-            if (rc.readSharedArray(i) == 0) { // first empty slot
-                int data = (encodeMapLocation(hqLoc) << 1) + (confirmed ? 1 : 0);
-                if (rc.canWriteSharedArray(i, data)) {
-                    rc.writeSharedArray(i, data);
+            if (SharedArrayMirror.slots[i] == 0) { // first empty slot
+                int loc = encodeMapLocation(hqLoc);
+                if (ally
+                        ? MemoryLayout.writeHq(rc, i - begin, MemoryLayout.packHq(loc, confirmed ? 1 : 0))
+                        : MemoryLayout.writeEnemyHq(rc, i - begin, MemoryLayout.packEnemyHq(loc, confirmed ? 1 : 0))) {
+                    bumpVersion(rc, ally ? HQ_VERSION : ENEMY_HQ_VERSION);
                     return true;
                 }
             }
@@ -79,9 +114,10 @@ public class Memory {
         }
         List<MapLocation> hqLocs = new ArrayList<>();
         for (int i = begin; i < end; i++) {
-            int data = rc.readSharedArray(i);
-            boolean readConfirmed = (data & 0b1) == 1;
-            MapLocation loc = decodeMapLocation(data >> 1);
+            int data = SharedArrayMirror.slots[i];
+            // Ally and enemy HQs are packed the same way.
+            boolean readConfirmed = MemoryLayout.hqConfirmed(data) == 1;
+            MapLocation loc = decodeMapLocation(MemoryLayout.hqLoc(data));
             if (loc == null) {
                 break; // done reading
             }
@@ -92,6 +128,107 @@ public class Memory {
         return hqLocs;
     }
 
+    // Islands
+
+    // Merges the island records that changed since the last call into islands, unless we know
+    // better (i.e. we sensed the island ourselves in a later 16-round bucket). Records are stamped
+    // by bucket, so within the same bucket the shared one wins: callers read before sensing, so
+    // what we see this turn still overrides it. O(1) if nobody wrote islands since.
+    static void readIslands(Map<Integer, Island> islands) {
+        int version = version(ISLANDS_VERSION);
+        if (version == islandsVersion) {
+            return;
+        }
+        islandsVersion = version;
+        for (int i = ISLANDS_SIZE; --i >= 0; ) {
+            int locData = MemoryLayout.readIslandLocs(i);
+            int stateData = MemoryLayout.readIslandStates(i);
+            if (locData == islandLocsRead[i] && stateData == islandStatesRead[i]) {
+                continue;
+            }
+            MapLocation loc = decodeMapLocation(MemoryLayout.islandLocsLoc(locData));
+            if (loc == null) {
+                islandLocsRead[i] = locData;
+                islandStatesRead[i] = stateData;
+                continue;
+            }
+            int id = MemoryLayout.islandStatesId(stateData);
+            int seenBucket = MemoryLayout.islandStatesSeen(stateData);
+            int seen = seenBucket << ISLAND_SEEN_SHIFT;
+            Island island = islands.get(id);
+            if (island == null) {
+                island = new Island(id, new MapLocation[]{loc}, Team.NEUTRAL, seen);
+                islands.put(id, island);
+            } else if ((island.asOf >> ISLAND_SEEN_SHIFT) > seenBucket) {
+                continue; // not merged, so look at it again next time.
+            }
+            islandLocsRead[i] = locData;
+            islandStatesRead[i] = stateData;
+            island.asOf = Math.max(island.asOf, seen);
+            Team team = TEAMS[MemoryLayout.islandLocsOwner(locData)];
+            if (team == Team.NEUTRAL) {
+                island.clearOccupier();
+            } else {
+                Anchor anchor = ANCHORS[MemoryLayout.islandLocsAnchor(locData)];
+                island.setOccupier(team, anchor, MemoryLayout.islandStatesHealth(stateData) * anchor.totalHealth / 8);
+            }
+        }
+    }
+
+    // Writes the pending islands (by id) that fit, all at once, and removes them from pending.
+    // Islands whose record already says the same thing aren't rewritten.
+    static void writeIslands(RobotController rc, Map<Integer, Island> islands, Set<Integer> pending) throws GameActionException {
+        boolean wrote = false;
+        for (Iterator<Integer> it = pending.iterator(); it.hasNext(); ) {
+            Island island = islands.get(it.next());
+            int locData = encodeIslandLoc(island);
+            int seen = (island.asOf >> ISLAND_SEEN_SHIFT) & 0b1111111;
+            int stateData = MemoryLayout.packIslandStates(island.id, healthBucket(island), seen);
+
+            // Find its record, or else the first free one.
+            int record = -1;
+            for (int i = 0; i < ISLANDS_SIZE; i++) {
+                int existing = MemoryLayout.readIslandLocs(i);
+                if (existing == 0) {
+                    if (record < 0) {
+                        record = i;
+                    }
+                    continue;
+                }
+                int existingState = MemoryLayout.readIslandStates(i);
+                if (MemoryLayout.islandStatesId(existingState) == island.id) {
+                    record = i;
+                    if (existing == locData && MemoryLayout.islandStatesHealth(existingState) == healthBucket(island)
+                            && seen - MemoryLayout.islandStatesSeen(existingState) < ISLAND_SEEN_REFRESH) {
+                        record = -2; // nothing new.
+                    }
+                    break;
+                }
+            }
+            if (record == -2) {
+                it.remove();
+            } else if (record >= 0
+                    && MemoryLayout.writeIslandLocs(rc, record, locData)
+                    && MemoryLayout.writeIslandStates(rc, record, stateData)) {
+                it.remove();
+                wrote = true;
+            } // else it's full (or we're out of range). Keep it for later.
+        }
+        if (wrote) {
+            bumpVersion(rc, ISLANDS_VERSION);
+        }
+    }
+
+    static int encodeIslandLoc(Island island) {
+        boolean occupied = island.team != Team.NEUTRAL;
+        return MemoryLayout.packIslandLocs(encodeMapLocation(island.any), island.team.ordinal(),
+                occupied ? island.anchor.ordinal() : 0);
+    }
+
+    static int healthBucket(Island island) {
+        return island.team == Team.NEUTRAL ? 0 : island.health * 8 / (island.anchor.totalHealth + 1);
+    }
+
     // Wells
 
     public static class Well {
@@ -137,9 +274,24 @@ public class Memory {
 
     public static Map<MapLocation, Well> readWells(RobotController rc) throws GameActionException {
         int start = Clock.getBytecodeNum();
+        int[] slots = SharedArrayMirror.slots;
+        for (int i = lastReadWell; --i >= WELLS_BEGIN; ) {
+            int data = slots[i];
+            int old = wellsRead[i - WELLS_BEGIN];
+            if (data != old) {
+                wellsRead[i - WELLS_BEGIN] = data;
+                if (MemoryLayout.wellsLoc(data) != MemoryLayout.wellsLoc(old)) {
+                    wells.remove(decodeMapLocation(MemoryLayout.wellsLoc(old)));
+                }
+                Well well = decodeWell(data, i);
+                wells.put(well.loc, well);
+            }
+        }
         for (; lastReadWell < WELLS_END; lastReadWell++) {
-            Well well = decodeWell(rc.readSharedArray(lastReadWell), lastReadWell);
+            int data = slots[lastReadWell];
+            Well well = decodeWell(data, lastReadWell);
             if (well != null) {
+                wellsRead[lastReadWell - WELLS_BEGIN] = data;
                 wells.put(well.loc, well);
             } else {
                 break;
@@ -149,51 +301,11 @@ public class Memory {
         return wells;
     }
 
-    /**
-     * Returns all known wells after writing. Maybe we failed to write some wells.
-     */
-    public static Map<MapLocation, Well> maybeWriteWells(RobotController rc, Set<Well> newWells) throws GameActionException {
-        // Read existing wells first, since we may have to overwrite.
-        int idx = lastReadWell;
-        for (Well newWell : newWells) {
-            if (idx >= WELLS_END) { // no more space.
-                break;
-            }
-            int encoded = encodeWell(newWell);
-            if (wells.containsKey(newWell.loc)) { // update (if changed)
-                if (!newWell.equals(wells.get(newWell.loc))) {
-                    if (rc.canWriteSharedArray(newWell.idx, encoded)) {
-                        rc.writeSharedArray(newWell.idx, encoded);
-                        wells.put(newWell.loc, newWell);
-                    }
-                }
-            } else { // new well
-                if (rc.canWriteSharedArray(idx, encoded)) {
-                    rc.writeSharedArray(idx, encoded);
-                    newWell.idx = idx;
-                    wells.put(newWell.loc, newWell);
-                    idx++;
-                }
-            }
-        }
-        return wells;
-    }
-
-    // Only have plural version since each write involves reading all existing wells, so this prevents
-    // too much reading.
-    public static void maybeWriteWells(RobotController rc, WellInfo[] infos) throws GameActionException {
-        Set<Well> wells = new HashSet<>(infos.length);
-        for (WellInfo info : infos) {
-            wells.add(Well.from(info, null));
-        }
-        maybeWriteWells(rc, wells);
-    }
-
     static Well decodeWell(int encoded, int idx) {
-        boolean saturated = (encoded & 0b1) == 1;
-        boolean upgraded = ((encoded & 10) >> 1) == 1;
-        ResourceType res = ResourceType.values()[(encoded & 0b1100) >> 2];
-        MapLocation loc = decodeMapLocation(encoded >> 4);
+        boolean saturated = MemoryLayout.wellsSaturated(encoded) == 1;
+        boolean upgraded = MemoryLayout.wellsUpgraded(encoded) == 1;
+        ResourceType res = ResourceType.values()[MemoryLayout.wellsRes(encoded)];
+        MapLocation loc = decodeMapLocation(MemoryLayout.wellsLoc(encoded));
         if (loc != null) {
             return new Well(loc, res, upgraded, saturated, idx);
         } else {
@@ -202,11 +314,8 @@ public class Memory {
     }
 
     static int encodeWell(Well well) {
-        int data = encodeMapLocation(well.loc) << 4; // 12 bits
-        data += well.res.ordinal() << 2; // 2 bits
-        data += (well.upgraded ? 1 : 0) << 1; // 1 bit
-        data += (well.saturated != null ? (well.saturated ? 1 : 0) : 0); // 1 bit // TODO: we'll need another bit to save unknown, ugh
-        return data;
+        return MemoryLayout.packWells(encodeMapLocation(well.loc), well.res.ordinal(), well.upgraded ? 1 : 0,
+                well.saturated != null && well.saturated ? 1 : 0); // TODO: we'll need another bit to save unknown, ugh
     }
 
     public static int encodeMapLocation(MapLocation loc) {
@@ -0,0 +1,544 @@
+package bobby;
+
+import battlecode.common.GameActionException;
+import battlecode.common.RobotController;
+
+// AUTO-GENERATED by tools/codegen/MemoryLayoutGenerator.java from tools/codegen/memory.layout
+// (./gradlew generateMemoryLayout). DO NOT EDIT.
+//
+// Slot ranges of each shared array region, and accessors for the bit fields packed into each slot.
+// Getters take the raw 16-bit slot value; pack/with build one.
+public class MemoryLayout {
+
+    static final int NUM_SLOTS_USED = 55;
+
+
+    // HEADER: slot 0
+    static final int HEADER_BEGIN = 0;
+    static final int HEADER_SIZE = 1;
+    static final int HEADER_END = 1;
+    static final int HEADER_VERSION_BITS = 4;
+    static final int HEADER_VERSION_COUNT = 4;
+
+    // From this turn's snapshot; see SharedArrayMirror.
+    static int readHeader(int i) {
+        return SharedArrayMirror.slots[HEADER_BEGIN + i];
+    }
+
+    // Returns false (and writes nothing) if we're out of range.
+    static boolean writeHeader(RobotController rc, int i, int data) throws GameActionException {
+        if (rc.canWriteSharedArray(HEADER_BEGIN + i, data)) {
+            rc.writeSharedArray(HEADER_BEGIN + i, data);
+            SharedArrayMirror.set(HEADER_BEGIN + i, data);
+            return true;
+        }
+        return false;
+    }
+
+    static int headerVersion(int data, int i) {
+        return (data >> (i << 2)) & 0b1111;
+    }
+
+    static int withHeaderVersion(int data, int i, int value) {
+        int shift = (i << 2);
+        return (data & ~(0b1111 << shift)) | (value << shift);
+    }
+
+    // HQ: slots 1-4
+    static final int HQ_BEGIN = 1;
+    static final int HQ_SIZE = 4;
+    static final int HQ_END = 5;
+    static final int HQ_LOC_BITS = 12;
+    static final int HQ_CONFIRMED_BITS = 1;
+
+    // From this turn's snapshot; see SharedArrayMirror.
+    static int readHq(int i) {
+        return SharedArrayMirror.slots[HQ_BEGIN + i];
+    }
+
+    // Returns false (and writes nothing) if we're out of range.
+    static boolean writeHq(RobotController rc, int i, int data) throws GameActionException {
+        if (rc.canWriteSharedArray(HQ_BEGIN + i, data)) {
+            rc.writeSharedArray(HQ_BEGIN + i, data);
+            SharedArrayMirror.set(HQ_BEGIN + i, data);
+            return true;
+        }
+        return false;
+    }
+
+    static int hqLoc(int data) {
+        return (data >> 1) & 0b111111111111;
+    }
+
+    static int withHqLoc(int data, int value) {
+        return (data & 0b1110000000000001) | (value << 1);
+    }
+
+    static int hqConfirmed(int data) {
+        return data & 0b1;
+    }
+
+    static int withHqConfirmed(int data, int value) {
+        return (data & 0b1111111111111110) | value;
+    }
+
+    static int packHq(int loc, int confirmed) {
+        return (loc << 1) | confirmed;
+    }
+
+    // WELLS: slots 5-14
+    static final int WELLS_BEGIN = 5;
+    static final int WELLS_SIZE = 10;
+    static final int WELLS_END = 15;
+    static final int WELLS_LOC_BITS = 12;
+    static final int WELLS_RES_BITS = 2;
+    static final int WELLS_UPGRADED_BITS = 1;
+    static final int WELLS_SATURATED_BITS = 1;
+
+    // From this turn's snapshot; see SharedArrayMirror.
+    static int readWells(int i) {
+        return SharedArrayMirror.slots[WELLS_BEGIN + i];
+    }
+
+    // Returns false (and writes nothing) if we're out of range.
+    static boolean writeWells(RobotController rc, int i, int data) throws GameActionException {
+        if (rc.canWriteSharedArray(WELLS_BEGIN + i, data)) {
+            rc.writeSharedArray(WELLS_BEGIN + i, data);
+            SharedArrayMirror.set(WELLS_BEGIN + i, data);
+            return true;
+        }
+        return false;
+    }
+
+    static int wellsLoc(int data) {
+        return data >> 4;
+    }
+
+    static int withWellsLoc(int data, int value) {
+        return (data & 0b1111) | (value << 4);
+    }
+
+    static int wellsRes(int data) {
+        return (data >> 2) & 0b11;
+    }
+
+    static int withWellsRes(int data, int value) {
+        return (data & 0b1111111111110011) | (value << 2);
+    }
+
+    static int wellsUpgraded(int data) {
+        return (data >> 1) & 0b1;
+    }
+
+    static int withWellsUpgraded(int data, int value) {
+        return (data & 0b1111111111111101) | (value << 1);
+    }
+
+    static int wellsSaturated(int data) {
+        return data & 0b1;
+    }
+
+    static int withWellsSaturated(int data, int value) {
+        return (data & 0b1111111111111110) | value;
+    }
+
+    static int packWells(int loc, int res, int upgraded, int saturated) {
+        return (loc << 4) | (res << 2) | (upgraded << 1) | saturated;
+    }
+
+    // ISLAND_LOCS: slots 15-19
+    static final int ISLAND_LOCS_BEGIN = 15;
+    static final int ISLAND_LOCS_SIZE = 5;
+    static final int ISLAND_LOCS_END = 20;
+    static final int ISLAND_LOCS_LOC_BITS = 12;
+    static final int ISLAND_LOCS_OWNER_BITS = 2;
+    static final int ISLAND_LOCS_ANCHOR_BITS = 1;
+
+    // From this turn's snapshot; see SharedArrayMirror.
+    static int readIslandLocs(int i) {
+        return SharedArrayMirror.slots[ISLAND_LOCS_BEGIN + i];
+    }
+
+    // Returns false (and writes nothing) if we're out of range.
+    static boolean writeIslandLocs(RobotController rc, int i, int data) throws GameActionException {
+        if (rc.canWriteSharedArray(ISLAND_LOCS_BEGIN + i, data)) {
+            rc.writeSharedArray(ISLAND_LOCS_BEGIN + i, data);
+            SharedArrayMirror.set(ISLAND_LOCS_BEGIN + i, data);
+            return true;
+        }
+        return false;
+    }
+
+    static int islandLocsLoc(int data) {
+        return (data >> 3) & 0b111111111111;
+    }
+
+    static int withIslandLocsLoc(int data, int value) {
+        return (data & 0b1000000000000111) | (value << 3);
+    }
+
+    static int islandLocsOwner(int data) {
+        return (data >> 1) & 0b11;
+    }
+
+    static int withIslandLocsOwner(int data, int value) {
+        return (data & 0b1111111111111001) | (value << 1);
+    }
+
+    static int islandLocsAnchor(int data) {
+        return data & 0b1;
+    }
+
+    static int withIslandLocsAnchor(int data, int value) {
+        return (data & 0b1111111111111110) | value;
+    }
+
+    static int packIslandLocs(int loc, int owner, int anchor) {
+        return (loc << 3) | (owner << 1) | anchor;
+    }
+
+    // ISLAND_STATES: slots 20-24
+    static final int ISLAND_STATES_BEGIN = 20;
+    static final int ISLAND_STATES_SIZE = 5;
+    static final int ISLAND_STATES_END = 25;
+    static final int ISLAND_STATES_ID_BITS = 6;
+    static final int ISLAND_STATES_HEALTH_BITS = 3;
+    static final int ISLAND_STATES_SEEN_BITS = 7;
+
+    // From this turn's snapshot; see SharedArrayMirror.
+    static int readIslandStates(int i) {
+        return SharedArrayMirror.slots[ISLAND_STATES_BEGIN + i];
+    }
+
+    // Returns false (and writes nothing) if we're out of range.
+    static boolean writeIslandStates(RobotController rc, int i, int data) throws GameActionException {
+        if (rc.canWriteSharedArray(ISLAND_STATES_BEGIN + i, data)) {
+            rc.writeSharedArray(ISLAND_STATES_BEGIN + i, data);
+            SharedArrayMirror.set(ISLAND_STATES_BEGIN + i, data);
+            return true;
+        }
+        return false;
+    }
+
+    static int islandStatesId(int data) {
+        return data >> 10;
+    }
+
+    static int withIslandStatesId(int data, int value) {
+        return (data & 0b1111111111) | (value << 10);
+    }
+
+    static int islandStatesHealth(int data) {
+        return (data >> 7) & 0b111;
+    }
+
+    static int withIslandStatesHealth(int data, int value) {
+        return (data & 0b1111110001111111) | (value << 7);
+    }
+
+    static int islandStatesSeen(int data) {
+        return data & 0b1111111;
+    }
+
+    static int withIslandStatesSeen(int data, int value) {
+        return (data & 0b1111111110000000) | value;
+    }
+
+    static int packIslandStates(int id, int health, int seen) {
+        return (id << 10) | (health << 7) | seen;
+    }
+
+    // ENEMY_HQ: slots 25-36
+    static final int ENEMY_HQ_BEGIN = 25;
+    static final int ENEMY_HQ_SIZE = 12;
+    static final int ENEMY_HQ_END = 37;
+    static final int ENEMY_HQ_LOC_BITS = 12;
+    static final int ENEMY_HQ_CONFIRMED_BITS = 1;
+
+    // From this turn's snapshot; see SharedArrayMirror.
+    static int readEnemyHq(int i) {
+        return SharedArrayMirror.slots[ENEMY_HQ_BEGIN + i];
+    }
+
+    // Returns false (and writes nothing) if we're out of range.
+    static boolean writeEnemyHq(RobotController rc, int i, int data) throws GameActionException {
+        if (rc.canWriteSharedArray(ENEMY_HQ_BEGIN + i, data)) {
+            rc.writeSharedArray(ENEMY_HQ_BEGIN + i, data);
+            SharedArrayMirror.set(ENEMY_HQ_BEGIN + i, data);
+            return true;
+        }
+        return false;
+    }
+
+    static int enemyHqLoc(int data) {
+        return (data >> 1) & 0b111111111111;
+    }
+
+    static int withEnemyHqLoc(int data, int value) {
+        return (data & 0b1110000000000001) | (value << 1);
+    }
+
+    static int enemyHqConfirmed(int data) {
+        return data & 0b1;
+    }
+
+    static int withEnemyHqConfirmed(int data, int value) {
+        return (data & 0b1111111111111110) | value;
+    }
+
+    static int packEnemyHq(int loc, int confirmed) {
+        return (loc << 1) | confirmed;
+    }
+
+    // MESSAGE_HEAD: slot 37
+    static final int MESSAGE_HEAD_BEGIN = 37;
+    static final int MESSAGE_HEAD_SIZE = 1;
+    static final int MESSAGE_HEAD_END = 38;
+    static final int MESSAGE_HEAD_SEQ_BITS = 16;
+
+    // From this turn's snapshot; see SharedArrayMirror.
+    static int readMessageHead(int i) {
+        return SharedArrayMirror.slots[MESSAGE_HEAD_BEGIN + i];
+    }
+
+    // Returns false (and writes nothing) if we're out of range.
+    static boolean writeMessageHead(RobotController rc, int i, int data) throws GameActionException {
+        if (rc.canWriteSharedArray(MESSAGE_HEAD_BEGIN + i, data)) {
+            rc.writeSharedArray(MESSAGE_HEAD_BEGIN + i, data);
+            SharedArrayMirror.set(MESSAGE_HEAD_BEGIN + i, data);
+            return true;
+        }
+        return false;
+    }
+
+    static int messageHeadSeq(int data) {
+        return data & 0b1111111111111111;
+    }
+
+    static int withMessageHeadSeq(int data, int value) {
+        return (data & 0b0) | value;
+    }
+
+    static int packMessageHead(int seq) {
+        return seq;
+    }
+
+    // MESSAGES: slots 38-40
+    static final int MESSAGES_BEGIN = 38;
+    static final int MESSAGES_SIZE = 3;
+    static final int MESSAGES_END = 41;
+    static final int MESSAGES_TYPE_BITS = 3;
+    static final int MESSAGES_LOC_BITS = 12;
+
+    // From this turn's snapshot; see SharedArrayMirror.
+    static int readMessages(int i) {
+        return SharedArrayMirror.slots[MESSAGES_BEGIN + i];
+    }
+
+    // Returns false (and writes nothing) if we're out of range.
+    static boolean writeMessages(RobotController rc, int i, int data) throws GameActionException {
+        if (rc.canWriteSharedArray(MESSAGES_BEGIN + i, data)) {
+            rc.writeSharedArray(MESSAGES_BEGIN + i, data);
+            SharedArrayMirror.set(MESSAGES_BEGIN + i, data);
+            return true;
+        }
+        return false;
+    }
+
+    static int messagesType(int data) {
+        return (data >> 12) & 0b111;
+    }
+
+    static int withMessagesType(int data, int value) {
+        return (data & 0b1000111111111111) | (value << 12);
+    }
+
+    static int messagesLoc(int data) {
+        return data & 0b111111111111;
+    }
+
+    static int withMessagesLoc(int data, int value) {
+        return (data & 0b1111000000000000) | value;
+    }
+
+    static int packMessages(int type, int loc) {
+        return (type << 12) | loc;
+    }
+
+    // MESSAGE_STAMPS: slots 41-43
+    static final int MESSAGE_STAMPS_BEGIN = 41;
+    static final int MESSAGE_STAMPS_SIZE = 3;
+    static final int MESSAGE_STAMPS_END = 44;
+    static final int MESSAGE_STAMPS_ROUND_BITS = 11;
+    static final int MESSAGE_STAMPS_TTL_BITS = 5;
+
+    // From this turn's snapshot; see SharedArrayMirror.
+    static int readMessageStamps(int i) {
+        return SharedArrayMirror.slots[MESSAGE_STAMPS_BEGIN + i];
+    }
+
+    // Returns false (and writes nothing) if we're out of range.
+    static boolean writeMessageStamps(RobotController rc, int i, int data) throws GameActionException {
+        if (rc.canWriteSharedArray(MESSAGE_STAMPS_BEGIN + i, data)) {
+            rc.writeSharedArray(MESSAGE_STAMPS_BEGIN + i, data);
+            SharedArrayMirror.set(MESSAGE_STAMPS_BEGIN + i, data);
+            return true;
+        }
+        return false;
+    }
+
+    static int messageStampsRound(int data) {
+        return data >> 5;
+    }
+
+    static int withMessageStampsRound(int data, int value) {
+        return (data & 0b11111) | (value << 5);
+    }
+
+    static int messageStampsTtl(int data) {
+        return data & 0b11111;
+    }
+
+    static int withMessageStampsTtl(int data, int value) {
+        return (data & 0b1111111111100000) | value;
+    }
+
+    static int packMessageStamps(int round, int ttl) {
+        return (round << 5) | ttl;
+    }
+
+    // WELL_OCCUPANCY: slots 44-46
+    static final int WELL_OCCUPANCY_BEGIN = 44;
+    static final int WELL_OCCUPANCY_SIZE = 3;
+    static final int WELL_OCCUPANCY_END = 47;
+    static final int WELL_OCCUPANCY_COUNT_BITS = 4;
+    static final int WELL_OCCUPANCY_COUNT_COUNT = 4;
+
+    // From this turn's snapshot; see SharedArrayMirror.
+    static int readWellOccupancy(int i) {
+        return SharedArrayMirror.slots[WELL_OCCUPANCY_BEGIN + i];
+    }
+
+    // Returns false (and writes nothing) if we're out of range.
+    static boolean writeWellOccupancy(RobotController rc, int i, int data) throws GameActionException {
+        if (rc.canWriteSharedArray(WELL_OCCUPANCY_BEGIN + i, data)) {
+            rc.writeSharedArray(WELL_OCCUPANCY_BEGIN + i, data);
+            SharedArrayMirror.set(WELL_OCCUPANCY_BEGIN + i, data);
+            return true;
+        }
+        return false;
+    }
+
+    static int wellOccupancyCount(int data, int i) {
+        return (data >> (i << 2)) & 0b1111;
+    }
+
+    static int withWellOccupancyCount(int data, int i, int value) {
+        int shift = (i << 2);
+        return (data & ~(0b1111 << shift)) | (value << shift);
+    }
+
+    // WELL_AGES: slots 47-48
+    static final int WELL_AGES_BEGIN = 47;
+    static final int WELL_AGES_SIZE = 2;
+    static final int WELL_AGES_END = 49;
+    static final int WELL_AGES_AGE_BITS = 3;
+    static final int WELL_AGES_AGE_COUNT = 5;
+
+    // From this turn's snapshot; see SharedArrayMirror.
+    static int readWellAges(int i) {
+        return SharedArrayMirror.slots[WELL_AGES_BEGIN + i];
+    }
+
+    // Returns false (and writes nothing) if we're out of range.
+    static boolean writeWellAges(RobotController rc, int i, int data) throws GameActionException {
+        if (rc.canWriteSharedArray(WELL_AGES_BEGIN + i, data)) {
+            rc.writeSharedArray(WELL_AGES_BEGIN + i, data);
+            SharedArrayMirror.set(WELL_AGES_BEGIN + i, data);
+            return true;
+        }
+        return false;
+    }
+
+    static int wellAgesAge(int data, int i) {
+        return (data >> (i * 3)) & 0b111;
+    }
+
+    static int withWellAgesAge(int data, int i, int value) {
+        int shift = (i * 3);
+        return (data & ~(0b111 << shift)) | (value << shift);
+    }
+
+    // ENEMY_HEAT: slots 49-53
+    static final int ENEMY_HEAT_BEGIN = 49;
+    static final int ENEMY_HEAT_SIZE = 5;
+    static final int ENEMY_HEAT_END = 54;
+    static final int ENEMY_HEAT_LEVEL_BITS = 2;
+    static final int ENEMY_HEAT_LEVEL_COUNT = 8;
+
+    // From this turn's snapshot; see SharedArrayMirror.
+    static int readEnemyHeat(int i) {
+        return SharedArrayMirror.slots[ENEMY_HEAT_BEGIN + i];
+    }
+
+    // Returns false (and writes nothing) if we're out of range.
+    static boolean writeEnemyHeat(RobotController rc, int i, int data) throws GameActionException {
+        if (rc.canWriteSharedArray(ENEMY_HEAT_BEGIN + i, data)) {
+            rc.writeSharedArray(ENEMY_HEAT_BEGIN + i, data);
+            SharedArrayMirror.set(ENEMY_HEAT_BEGIN + i, data);
+            return true;
+        }
+        return false;
+    }
+
+    static int enemyHeatLevel(int data, int i) {
+        return (data >> (i << 1)) & 0b11;
+    }
+
+    static int withEnemyHeatLevel(int data, int i, int value) {
+        int shift = (i << 1);
+        return (data & ~(0b11 << shift)) | (value << shift);
+    }
+
+    // SYMMETRY: slot 54
+    static final int SYMMETRY_BEGIN = 54;
+    static final int SYMMETRY_SIZE = 1;
+    static final int SYMMETRY_END = 55;
+    static final int SYMMETRY_RULED_OUT_BITS = 3;
+    static final int SYMMETRY_INFERRED_BITS = 3;
+
+    // From this turn's snapshot; see SharedArrayMirror.
+    static int readSymmetry(int i) {
+        return SharedArrayMirror.slots[SYMMETRY_BEGIN + i];
+    }
+
+    // Returns false (and writes nothing) if we're out of range.
+    static boolean writeSymmetry(RobotController rc, int i, int data) throws GameActionException {
+        if (rc.canWriteSharedArray(SYMMETRY_BEGIN + i, data)) {
+            rc.writeSharedArray(SYMMETRY_BEGIN + i, data);
+            SharedArrayMirror.set(SYMMETRY_BEGIN + i, data);
+            return true;
+        }
+        return false;
+    }
+
+    static int symmetryRuledOut(int data) {
+        return (data >> 3) & 0b111;
+    }
+
+    static int withSymmetryRuledOut(int data, int value) {
+        return (data & 0b1111111111000111) | (value << 3);
+    }
+
+    static int symmetryInferred(int data) {
+        return data & 0b111;
+    }
+
+    static int withSymmetryInferred(int data, int value) {
+        return (data & 0b1111111111111000) | value;
+    }
+
+    static int packSymmetry(int ruledOut, int inferred) {
+        return (ruledOut << 3) | inferred;
+    }
+}
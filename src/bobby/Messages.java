@@ -0,0 +1,113 @@
+package bobby;
+
+import battlecode.common.GameActionException;
+import battlecode.common.MapLocation;
+import battlecode.common.RobotController;
+
+/**
+ * Transient events (as opposed to the facts in the rest of Memory), in a small ring buffer in the
+ * shared array. Every message has a location, the round it was posted at and how long it stays
+ * relevant; once the ring wraps around, the oldest message is overwritten.
+ *
+ * Each robot keeps a cursor into the ring, so poll() only decodes messages posted since the last
+ * call, and remembers the latest live message of each type.
+ */
+public class Messages {
+
+    // Types. 0 means empty.
+    static final int HQ_UNDER_SIEGE = 1;
+    static final int ENEMIES_SIGHTED = 2;
+    static final int NUM_TYPES = 3;
+
+    // How many rounds each type stays relevant for (at most 31).
+    static final int[] TTLS = {0, 10, 3};
+    // Don't post a message if there's a live one of the same type at most this far away.
+    static final int SAME_PLACE_RADIUS_SQUARED = 20;
+
+    static final int SIZE = MemoryLayout.MESSAGES_SIZE;
+
+    private static int cursor = -1; // seq of the next message to read.
+    private static final MapLocation[] latest = new MapLocation[NUM_TYPES];
+    private static final int[] expires = new int[NUM_TYPES]; // last round latest[type] is relevant for
+    // Latest message of each type we couldn't post (out of write range), and the round we tried to.
+    private static final MapLocation[] pending = new MapLocation[NUM_TYPES];
+    private static final int[] pendingRounds = new int[NUM_TYPES];
+
+    // Reads the messages posted since the last call.
+    static void poll(RobotController rc) {
+        int seq = MemoryLayout.messageHeadSeq(MemoryLayout.readMessageHead(0));
+        if (cursor < 0 || seq - cursor > SIZE || seq < cursor) {
+            cursor = Math.max(0, seq - SIZE); // anything older was overwritten (or we're new).
+        }
+        int round = rc.getRoundNum();
+        for (; cursor < seq; cursor++) {
+            int i = cursor % SIZE;
+            int stamp = MemoryLayout.readMessageStamps(i);
+            int until = MemoryLayout.messageStampsRound(stamp) + MemoryLayout.messageStampsTtl(stamp);
+            if (until < round) {
+                continue; // too late.
+            }
+            int body = MemoryLayout.readMessages(i);
+            int type = MemoryLayout.messagesType(body);
+            if (until >= expires[type]) {
+                latest[type] = Memory.decodeMapLocation(MemoryLayout.messagesLoc(body));
+                expires[type] = until;
+            }
+        }
+    }
+
+    // Latest message of the given type that's still relevant, or null.
+    static MapLocation active(RobotController rc, int type) {
+        return rc.getRoundNum() <= expires[type] ? latest[type] : null;
+    }
+
+    // Posts a message, unless there's already a live one of the same type around loc. Returns true
+    // if it was posted. Out of write range, it's kept for flush() instead.
+    static boolean post(RobotController rc, int type, MapLocation loc) throws GameActionException {
+        return post(rc, type, loc, rc.getRoundNum());
+    }
+
+    // Same, for a message about what happened on the given round (it expires TTLS[type] after it).
+    private static boolean post(RobotController rc, int type, MapLocation loc, int round) throws GameActionException {
+        if (!rc.canWriteSharedArray(0, 0)) {
+            pending[type] = loc;
+            pendingRounds[type] = round;
+            return false;
+        }
+        pending[type] = null;
+        poll(rc);
+        MapLocation live = active(rc, type);
+        if (live != null && live.isWithinDistanceSquared(loc, SAME_PLACE_RADIUS_SQUARED)) {
+            return false;
+        }
+        int seq = MemoryLayout.messageHeadSeq(MemoryLayout.readMessageHead(0));
+        int i = seq % SIZE;
+        MemoryLayout.writeMessages(rc, i, MemoryLayout.packMessages(type, Memory.encodeMapLocation(loc)));
+        MemoryLayout.writeMessageStamps(rc, i, MemoryLayout.packMessageStamps(round, TTLS[type]));
+        MemoryLayout.writeMessageHead(rc, 0, MemoryLayout.packMessageHead((seq + 1) & 0xFFFF));
+        if (round + TTLS[type] >= expires[type]) {
+            latest[type] = loc;
+            expires[type] = round + TTLS[type];
+        }
+        return true;
+    }
+
+    // Posts the messages we couldn't post earlier, on the first turn we're back in write range.
+    // They keep the round they were posted at, so they expire when they would have anyway (and
+    // ones that already have are dropped).
+    static void flush(RobotController rc) throws GameActionException {
+        if (!rc.canWriteSharedArray(0, 0)) {
+            return;
+        }
+        int round = rc.getRoundNum();
+        for (int type = NUM_TYPES; --type > 0; ) {
+            MapLocation loc = pending[type];
+            if (loc != null) {
+                pending[type] = null;
+                if (round <= pendingRounds[type] + TTLS[type]) {
+                    post(rc, type, loc, pendingRounds[type]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package bobby;
+
+import battlecode.common.GameActionException;
+import battlecode.common.MapLocation;
+import battlecode.common.RobotController;
+
+/**
+ * How many carriers are mining each well in Memory's WELLS region, so that new carriers spread out
+ * instead of crowding the same few wells.
+ *
+ * A carrier counts itself at its well once per DECAY_ROUNDS rounds, and takes itself back out when
+ * it moves on. Dead carriers never do, so the first HQ halves every count at the start of each
+ * period. With both, a count settles at about twice the number of carriers at the well, and
+ * forgets the dead ones within a few periods.
+ *
+ * Each well also has an age: how long it's been since a carrier last counted itself there, in
+ * AGE_ROUNDS, up to MAX_AGE. The first HQ ages every well; counting yourself at one resets it.
+ * WriteQueue uses it to pick which well to evict when the region is full.
+ *
+ * Carriers can only write near an HQ, so changes are kept here until flush() gets a chance.
+ */
+public class Occupancy {
+
+    static final int DECAY_ROUNDS = 40;
+    static final int MAX_COUNT = (1 << MemoryLayout.WELL_OCCUPANCY_COUNT_BITS) - 1; // ~8 carriers, all a well fits.
+    static final int PER_SLOT = MemoryLayout.WELL_OCCUPANCY_COUNT_COUNT;
+    static final int AGE_ROUNDS = 50;
+    static final int MAX_AGE = (1 << MemoryLayout.WELL_AGES_AGE_BITS) - 1;
+    static final int AGES_PER_SLOT = MemoryLayout.WELL_AGES_AGE_COUNT;
+    // Added to distances when weighing wells, so the closest ones aren't infinitely better.
+    static final int DISTANCE_OFFSET = 8;
+
+    private static final int[] pending = new int[MemoryLayout.WELLS_SIZE];
+    private static int pendingMask = 0; // bit per well with a pending change.
+    private static int claimed = -1; // WELLS slot of the well we count ourselves at.
+    private static int claimedLoc; // its location, in case it gets evicted.
+    private static int period = -1; // period we last counted ourselves in, or -1 if we haven't yet.
+
+    static int count(int slot) {
+        return MemoryLayout.wellOccupancyCount(MemoryLayout.readWellOccupancy(slot / PER_SLOT), slot % PER_SLOT);
+    }
+
+    static int count(Memory.Well well) {
+        return well.idx < 0 ? 0 : count(well.idx - MemoryLayout.WELLS_BEGIN);
+    }
+
+    static int age(int slot) {
+        return MemoryLayout.wellAgesAge(MemoryLayout.readWellAges(slot / AGES_PER_SLOT), slot % AGES_PER_SLOT);
+    }
+
+    static boolean isSaturated(Memory.Well well) {
+        return count(well) >= MAX_COUNT;
+    }
+
+    // Relative odds of picking a well at the given distance with the given count.
+    static int weight(int distance, int count) {
+        int spare = MAX_COUNT + 1 - count;
+        return spare * spare * 256 / (distance + DISTANCE_OFFSET);
+    }
+
+    // Picks one of the wells at random, favoring close ones with few carriers. Returns null if
+    // there are none.
+    static Memory.Well pick(MapLocation from, Iterable<Memory.Well> wells) {
+        int total = 0;
+        Memory.Well picked = null;
+        for (Memory.Well well : wells) {
+            int dx = Math.abs(well.loc.x - from.x);
+            int dy = Math.abs(well.loc.y - from.y);
+            int w = weight(dx > dy ? dx : dy, count(well));
+            total += w;
+            // Reservoir sampling: keep each well with probability w / total.
+            if (RobotPlayer.rng.nextInt(total) < w) {
+                picked = well;
+            }
+        }
+        return picked;
+    }
+
+    // Counts us at well from now on (and no longer at the previous one). Wells that aren't in the
+    // array yet aren't counted.
+    static void claim(Memory.Well well) {
+        int slot = well == null || well.idx < 0 ? -1 : well.idx - MemoryLayout.WELLS_BEGIN;
+        if (slot == claimed) {
+            return;
+        }
+        release();
+        claimed = slot;
+        claimedLoc = slot < 0 ? 0 : Memory.encodeMapLocation(well.loc);
+    }
+
+    static void release() {
+        if (claimed >= 0 && period >= 0) {
+            add(claimed, -1);
+        }
+        claimed = -1;
+        period = -1;
+    }
+
+    private static void add(int slot, int delta) {
+        pending[slot] += delta;
+        pendingMask |= 1 << slot;
+    }
+
+    // Writes our changes, if we're in range.
+    static void flush(RobotController rc) throws GameActionException {
+        if (!rc.canWriteSharedArray(0, 0)) {
+            return;
+        }
+        if (claimed >= 0 && MemoryLayout.wellsLoc(MemoryLayout.readWells(claimed)) != claimedLoc) {
+            claimed = -1; // evicted, and its count along with it.
+            period = -1;
+        }
+        int now = rc.getRoundNum() / DECAY_ROUNDS;
+        if (claimed >= 0 && period != now) {
+            add(claimed, 1);
+            period = now;
+            setAge(rc, claimed, 0);
+        }
+        while (pendingMask != 0) {
+            int first = Integer.numberOfTrailingZeros(pendingMask);
+            int i = first / PER_SLOT;
+            int data = MemoryLayout.readWellOccupancy(i);
+            for (int j = PER_SLOT; --j >= 0; ) {
+                int slot = i * PER_SLOT + j;
+                if ((pendingMask & (1 << slot)) == 0) {
+                    continue;
+                }
+                int count = MemoryLayout.wellOccupancyCount(data, j) + pending[slot];
+                data = MemoryLayout.withWellOccupancyCount(data, j, count < 0 ? 0 : count > MAX_COUNT ? MAX_COUNT : count);
+                pending[slot] = 0;
+                pendingMask &= ~(1 << slot);
+            }
+            MemoryLayout.writeWellOccupancy(rc, i, data);
+        }
+    }
+
+    private static void setAge(RobotController rc, int slot, int age) throws GameActionException {
+        int i = slot / AGES_PER_SLOT;
+        int data = MemoryLayout.readWellAges(i);
+        int updated = MemoryLayout.withWellAgesAge(data, slot % AGES_PER_SLOT, age);
+        if (updated != data) {
+            MemoryLayout.writeWellAges(rc, i, updated);
+        }
+    }
+
+    // A new well took over the slot: it starts with no carriers and a fresh age. Must be in range.
+    static void reset(RobotController rc, int slot) throws GameActionException {
+        int i = slot / PER_SLOT;
+        MemoryLayout.writeWellOccupancy(rc, i, MemoryLayout.withWellOccupancyCount(MemoryLayout.readWellOccupancy(i), slot % PER_SLOT, 0));
+        setAge(rc, slot, 0);
+        pendingMask &= ~(1 << slot); // whatever we had was for the old well.
+        pending[slot] = 0;
+    }
+
+    // Called by one HQ at the start of every round.
+    static void decay(RobotController rc) throws GameActionException {
+        int round = rc.getRoundNum();
+        if (round % DECAY_ROUNDS == 0) {
+            for (int i = MemoryLayout.WELL_OCCUPANCY_SIZE; --i >= 0; ) {
+                int data = MemoryLayout.readWellOccupancy(i);
+                if (data != 0) {
+                    MemoryLayout.writeWellOccupancy(rc, i, halved(data));
+                }
+            }
+        }
+        if (round % AGE_ROUNDS == 0) {
+            for (int i = MemoryLayout.WELL_AGES_SIZE; --i >= 0; ) {
+                int data = MemoryLayout.readWellAges(i);
+                int aged = aged(data);
+                if (aged != data) {
+                    MemoryLayout.writeWellAges(rc, i, aged);
+                }
+            }
+        }
+    }
+
+    // Halves every count in a slot at once.
+    static int halved(int data) {
+        return (data >>> 1) & 0x7777;
+    }
+
+    // Adds one to every age in a slot at once, except those already at MAX_AGE. Those are the
+    // ones with all 3 bits set; adding 1 to any other never carries into the next age.
+    static int aged(int data) {
+        int maxed = data & (data >>> 1) & (data >>> 2) & 0b001001001001001;
+        return data + (0b001001001001001 & ~maxed);
+    }
+}
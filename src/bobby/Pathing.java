@@ -1,29 +1,46 @@
 package bobby;
 
+import battlecode.common.Clock;
 import battlecode.common.Direction;
 import battlecode.common.GameActionException;
 import battlecode.common.MapInfo;
 import battlecode.common.MapLocation;
 import battlecode.common.RobotController;
 
-import java.util.HashSet;
-import java.util.Set;
-
 public class Pathing {
 
     static final int NUM_DIRECTIONS = 8;
 
     // PARAMETERS to adjust/tune.
-    static final double ONLINE_THRESHOLD = 1.5;
+    static final int STUCK_VISITS = 3; // a dead-end corridor legitimately gets walked twice.
+
+    // Upper bounds on what each tier costs. With less budget than a tier needs, we step down to the
+    // next one, and below GREEDY_BYTECODE_COST we don't move at all.
+    static final int PLAN_BYTECODE_COST = 300;
+    static final int BFS_BYTECODE_COST = 5000;
+    static final int BUG_BYTECODE_COST = 1500;
+    static final int GREEDY_BYTECODE_COST = 250;
 
     enum Algo {
-        BUG0, BUG2;
+        BUG0, BUG2,
+        BFS; // unrolled BFS over the vision radius. Only for robots with radius^2 20 vision.
     }
 
+    // What actually ran on a moveTowards call, from best to cheapest.
+    enum Tier {
+        PLAN, // following a finished A* plan
+        BFS,
+        BUG, // BUG0 or BUG2, whichever was asked for
+        GREEDY, // straight towards the target (or close to it)
+        NONE; // not even enough budget for greedy
+    }
+
+    static Tier lastTier = Tier.NONE;
+
     static MapLocation start = null; // used for bug2
     static MapLocation dest = null;
     static Algo preferred = null;
-    static Set<MapLocation> path = new HashSet<>();
+    static final Visited visited = new Visited(); // tiles we've been on while going to dest.
 
     static Direction currentDir = null; // used for bug0 and bug2; aka isWallFollowing
     static int shortestDistance = Integer.MAX_VALUE; // used for bug2
@@ -32,47 +49,40 @@ public class Pathing {
 
     static Boolean rotateRight;
 
-    static void moveTowards(RobotController rc, MapLocation target) throws GameActionException {
-        moveTowards(rc, Algo.BUG2, target, 2, 0);
+    static MapLocation bfsStuckAt = null; // last target for which BFS got us stuck in a loop.
+
+    static Tier moveTowards(RobotController rc, MapLocation target) throws GameActionException {
+        return moveTowards(rc, Algo.BUG2, target, 2, 0);
+    }
+
+    static Tier moveTowards(RobotController rc, MapLocation target, int radius) throws GameActionException {
+        return moveTowards(rc, Algo.BUG2, target, radius, 0);
     }
 
-    static void moveTowards(RobotController rc, MapLocation target, int radius) throws GameActionException {
-        moveTowards(rc, Algo.BUG2, target, radius, 0);
+    static Tier moveTowards(RobotController rc, Algo algo, MapLocation target, int radius, int avoidRadius) throws GameActionException {
+        return moveTowards(rc, algo, target, radius, avoidRadius, Clock.getBytecodesLeft());
     }
 
-    // MAIN entry point to pathing.
-    static void moveTowards(RobotController rc, Algo algo, MapLocation target, int radius, int avoidRadius) throws GameActionException {
+    // MAIN entry point to pathing. Uses at most (roughly) budget bytecodes, and returns which tier ran.
+    static Tier moveTowards(RobotController rc, Algo algo, MapLocation target, int radius, int avoidRadius, int budget) throws GameActionException {
         if (rotateRight == null) {
             rotateRight = rc.getID() % 2 == 1;
         }
 
         if (!target.equals(dest)) {
-            // Moving to a new place! Reset values.
-            start = rc.getLocation();
-            dest = target;
-            preferred = algo;
-            path.clear();
-            currentDir = null;
-            shortestDistance = Integer.MAX_VALUE;
-            indicatorString = "";
+            setDest(rc, algo, target);
         }
 
         MapLocation before = rc.getLocation();
-        switch (preferred) {
-            case BUG0:
-                moveTowardsWithBug0(rc, dest, radius);
-                break;
-            case BUG2:
-            default:
-                moveTowardsWithBug2(rc, start, dest, radius, avoidRadius);
-        }
+        Tier tier = moveWithin(rc, radius, avoidRadius, budget);
+        lastTier = tier;
         MapLocation after = rc.getLocation();
 
         if (after.distanceSquaredTo(target) <= radius) {
             setIndicatorString(algo.name(), target, "arrived (within " + radius + ")!", null);
         }
 
-        if (!before.equals(after) && path.contains(after)) { // careful if we didn't move.
+        if (!before.equals(after) && visited.visit(after) >= STUCK_VISITS) { // careful if we didn't move.
             // we're stuck in a loop or something! reset by unsetting dest
             dest = null; // next time we're called, we'll start over.
             indicatorString = "STUCK in loop; resetting...";
@@ -81,21 +91,89 @@ public class Pathing {
             rotateRight = !rotateRight;
 //            preferred = preferred == Algo.BUG0 ? Algo.BUG2 : Algo.BUG0;
             // TODO: maybe try a diff algorithm?
+            if (preferred == Algo.BFS) {
+                // BFS only sees as far as our vision, so it can oscillate in front of large concave
+                // obstacles. Wall-following is guaranteed to get out of those.
+                bfsStuckAt = target;
+            }
+        }
+        return tier;
+    }
+
+    // Moving to a new place! Reset values.
+    private static void setDest(RobotController rc, Algo algo, MapLocation target) {
+        start = rc.getLocation();
+        dest = target;
+        preferred = algo == Algo.BFS && target.equals(bfsStuckAt) ? Algo.BUG2 : algo;
+        visited.clear();
+        visited.visit(start);
+        if (algo != Algo.BUG0 && !start.isWithinDistanceSquared(target, rc.getType().visionRadiusSquared)) {
+            AStar.plan(rc, target); // long trip: plan it with leftover bytecode, Bug2 until then.
+        }
+        currentDir = null;
+        shortestDistance = Integer.MAX_VALUE;
+        indicatorString = "";
+    }
+
+    // Runs the best tier that fits in budget: the A* plan if it's ready, then the preferred algo,
+    // then a greedy step.
+    private static Tier moveWithin(RobotController rc, int radius, int avoid, int budget) throws GameActionException {
+        if (budget >= PLAN_BYTECODE_COST && moveWithPlan(rc, dest, radius)) {
+            return Tier.PLAN;
+        }
+        if (preferred == Algo.BFS && budget >= BFS_BYTECODE_COST && moveTowardsWithBfs(rc, dest, radius, avoid)) {
+            return Tier.BFS;
+        }
+        if (budget >= BUG_BYTECODE_COST) {
+            if (preferred == Algo.BUG0) {
+                moveTowardsWithBug0(rc, dest, radius);
+            } else {
+                moveTowardsWithBug2(rc, start, dest, radius, avoid);
+            }
+            return Tier.BUG;
+        }
+        if (budget >= GREEDY_BYTECODE_COST) {
+            if (rc.getLocation().distanceSquaredTo(dest) > radius) {
+                moveGreedy(rc, rc.getLocation().directionTo(dest));
+                setIndicatorString("GREEDY", dest, "low on bytecode", null);
+            }
+            return Tier.GREEDY;
         }
-        path.add(after); // If not, then add new location to path (for now add them all--infinite path memory).
+        return Tier.NONE;
     }
 
     static MapLocation randomLoc = null;
+    static boolean wandering = false; // randomLoc is a random wander target, not a frontier one.
+    static int exploreGiveUpRound = 0;
+    static final int EXPLORE_PATIENCE = 10; // rounds of slack, on top of 2 per tile, before giving up on a target.
 
     // explore is like a random walk, but "with purpose". We pick a random target and go to it,
     // and then we pick another one and go to it.
+    // A wander target is usually known already, so we keep it until we get there (or give up);
+    // otherwise we'd retarget, and rerun Frontier.pick, every turn.
     static void explore(RobotController rc) throws GameActionException {
-        if (randomLoc != null && // we're already going somewhere and it's far
-                !rc.getLocation().isWithinDistanceSquared(randomLoc, 3)) {
+        if (randomLoc != null && // we're already going somewhere, it's far, and we still haven't seen it
+                !rc.getLocation().isWithinDistanceSquared(randomLoc, 3) && (wandering || !WorldMap.isKnown(randomLoc))
+                && rc.getRoundNum() < exploreGiveUpRound) {
             Pathing.moveTowards(rc, randomLoc); // continue going
         } else {
-            randomLoc = Pathing.randomLocWithin(rc, 10, 30);
-            Pathing.moveTowards(rc, randomLoc); // go to new random location
+            if (randomLoc != null && !wandering && rc.getRoundNum() >= exploreGiveUpRound) {
+                Frontier.skip(rc, randomLoc); // probably unreachable.
+            }
+            randomLoc = Frontier.pick(rc);
+            wandering = randomLoc == null;
+            if (wandering) { // nothing left to see (or no bytecode to look), so wander.
+                randomLoc = Pathing.randomLocWithin(rc, 10, 30);
+                // Prefer somewhere we haven't walked through on the way here.
+                for (int i = 0; i < 3 && visited.contains(randomLoc); i++) {
+                    randomLoc = Pathing.randomLocWithin(rc, 10, 30);
+                }
+            }
+            MapLocation here = rc.getLocation();
+            int dx = Math.abs(randomLoc.x - here.x);
+            int dy = Math.abs(randomLoc.y - here.y);
+            exploreGiveUpRound = rc.getRoundNum() + EXPLORE_PATIENCE + 2 * (dx > dy ? dx : dy);
+            Pathing.moveTowards(rc, randomLoc); // go to new location
         }
     }
 
@@ -122,6 +200,25 @@ public class Pathing {
         }
     }
 
+    // Moves in dir, or the closest direction to it, avoiding currents. Returns true if we moved.
+    static boolean moveGreedy(RobotController rc, Direction dir) throws GameActionException {
+        if (!rc.isMovementReady()) {
+            return false;
+        }
+        Direction left = dir.rotateLeft();
+        Direction right = dir.rotateRight();
+        if (rc.canMove(dir) && !hasCurrent(rc, dir)) {
+            rc.move(dir);
+        } else if (rc.canMove(left) && !hasCurrent(rc, left)) {
+            rc.move(left);
+        } else if (rc.canMove(right) && !hasCurrent(rc, right)) {
+            rc.move(right);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
     static void makeSpace(RobotController rc, MapLocation target) throws GameActionException {
         // Go to another adjacent location, if possible.
         for (MapLocation adjacent : rc.getAllLocationsWithinRadiusSquared(target, 2)) {
@@ -177,6 +274,43 @@ public class Pathing {
         }
     }
 
+    // Takes the next step of the A* plan for target, if it's ready. Returns true if we moved.
+    static boolean moveWithPlan(RobotController rc, MapLocation target, int radius) throws GameActionException {
+        if (!target.equals(AStar.goal) || !rc.isMovementReady() || rc.getLocation().distanceSquaredTo(target) <= radius) {
+            return false;
+        }
+        Direction dir = AStar.nextStep(rc);
+        if (dir != null && rc.canMove(dir)) {
+            rc.move(dir);
+            currentDir = null; // in case we fall back to BUG2 later on.
+            setIndicatorString("A*", target, "PLAN", dir);
+            return true;
+        }
+        return false; // no plan yet, or someone's in the way.
+    }
+
+    // Returns false if BFS can't help (nothing reachable in sight, e.g. we're in a cloud), in
+    // which case we should crawl along walls instead.
+    static boolean moveTowardsWithBfs(RobotController rc, MapLocation target, int radius, int avoid) throws GameActionException {
+        if (rc.getLocation().distanceSquaredTo(target) <= radius) {
+            setIndicatorString("BFS", target, "arrived! (within " + radius + ")", null);
+            return true; // we're already there!
+        }
+        if (!rc.isMovementReady()) {
+            setIndicatorString("BFS", target, "can't move!", null);
+            return true; // can't move anyway
+        }
+
+        Direction dir = UnrolledBFS.bestDirection(rc, target);
+        if (dir != null && rc.canMove(dir) && !tooClose(rc, target, dir, avoid)) {
+            rc.move(dir);
+            currentDir = null; // in case we fall back to BUG2 later on.
+            setIndicatorString("BFS", target, "DIR", dir);
+            return true;
+        }
+        return false;
+    }
+
     static void moveTowardsWithBug2(RobotController rc, MapLocation origin, MapLocation target, int radius, int avoid) throws GameActionException {
         if (rc.getLocation().distanceSquaredTo(target) <= radius) {
             shortestDistance = Integer.MAX_VALUE;
@@ -192,26 +326,25 @@ public class Pathing {
         Direction directDir = rc.getLocation().directionTo(target);
 
         if (currentDir != null) { // Wall-following
-            double dist = lineDist(rc, rc.getLocation(), origin, target);
-            if (dist < ONLINE_THRESHOLD) { // try to exit wall-following.
+            if (Geometry.onMLine(origin, target, rc.getLocation())) { // try to exit wall-following.
                 int currentDist = rc.getLocation().distanceSquaredTo(target);
                 if (currentDist < shortestDistance && rc.canMove(directDir)) { // exit wall-following
                     rc.move(directDir);
                     shortestDistance = currentDist;
                     currentDir = null;
-                    setIndicatorString("BUG2", target, "EXIT wall (d=" + dist + ")", directDir);
+                    setIndicatorString("BUG2", target, "EXIT wall", directDir);
                     return; // because we moved.
                 } else {
                     currentDir = followWall(rc, currentDir, target);
-                    setIndicatorString("BUG2", target, "ON LINE (d=" + dist + ", " + currentDist + " > " + shortestDistance + ") CONT wall " + (rotateRight ? "R " : "L ") + "next: ", currentDir);
+                    setIndicatorString("BUG2", target, "ON LINE (" + currentDist + " > " + shortestDistance + ") CONT wall " + (rotateRight ? "R " : "L ") + "next: ", currentDir);
                 }
             } else {
                 currentDir = followWall(rc, currentDir, target);
-                setIndicatorString("BUG2", target, "OFF LINE (d=" + dist + ") CONT wall " + (rotateRight ? "R " : "L ") + "next: ", currentDir);
+                setIndicatorString("BUG2", target, "OFF LINE CONT wall " + (rotateRight ? "R " : "L ") + "next: ", currentDir);
             }
         } else {
-            // Not wall-following. Try to keep going.
-            if (rc.canMove(directDir) && !tooClose(rc, target, directDir, avoid) && !hasCurrent(rc, directDir)) { // maybe should check if passable
+            // Not wall-following. Try to keep going (riding currents if they take us closer).
+            if (rc.canMove(directDir) && !tooClose(rc, target, directDir, avoid) && isCurrentSafe(rc, directDir, target)) { // maybe should check if passable
                 rc.move(directDir);
                 setIndicatorString("BUG2", target, "DIRECT", directDir); // what we did
                 return; // because we moved.
@@ -260,54 +393,22 @@ public class Pathing {
         return rc.getLocation().add(dir).distanceSquaredTo(target) <= avoid;
     }
 
-    static double pointDist(MapLocation loc, double x, double y) {
-        double dx = x - loc.x;
-        double dy = y - loc.y;
-        return 1.0 * Math.round((dx * dx + dy * dy) * 100) / 100;
-    }
-
-    static double lineDist(RobotController rc, MapLocation current, MapLocation origin, MapLocation target) {
-        // Handle edge cases: vertical and horizonal lines, with Infinity and 0 slopes, respectively.
-        if (origin.x == target.x) { // vertical line
-            return (current.x - origin.x) * (current.x - origin.x);
-        } else if (origin.y == target.y) {
-            return (current.y - origin.y) * (current.y - origin.y);
-        }
-
-        double m = getSlope(origin, target);
-        double b = getIntercept(origin, m);
-        double mInv = -1.0 / m; // slope of perpendicular line
-        // Find point in mLine which is closest to current (it's also on perpendicular line).
-        // Math here for the future:
-        //   mLine: y = mx + b
-        //   perp line: y = (-1/m)x + b'   note m' = (-1/m)
-        // take two points in the perp line and subtract, to get (can also think as rise/run):
-        //   y - y1 = m'(x - x1)   note (x1, y1) is our current location (known)
-        //   => y = m'(x - x1) + y1
-        //   => mx + b = m'x - m'x1 + y1
-        //   => mx - m'x = -m'x1 + y1 - b
-        //   => x = (-m'x1 + y1 - b) / (m - m')
-        double closestX = (-mInv * current.x + current.y - b) / (m - mInv);
-        double closestY = m * closestX + b;
-
-        return pointDist(current, closestX, closestY);
-    }
-
-    static double getSlope(MapLocation origin, MapLocation target) {
-        // NOTE: if x1 == x2, then this will return Infinity (or -Infinity).
-        return (1.0 * target.y - origin.y) / (1.0 * target.x - origin.x);
-    }
-
-    static double getIntercept(MapLocation origin, double slope) {
-        return origin.y - slope * origin.x;
-    }
-
     static boolean hasCurrent(RobotController rc, Direction d) throws GameActionException {
+        MapLocation here = rc.getLocation();
+        int idx = WorldMap.index(here.x + d.dx, here.y + d.dy);
+        if (WorldMap.isKnown(idx)) { // avoid sensing if we can.
+            return WorldMap.current(idx) != Direction.CENTER;
+        }
         return rc.senseMapInfo(rc.adjacentLocation(d)).getCurrentDirection() != Direction.CENTER;
     }
 
     static boolean isCurrentSafe(RobotController rc, Direction d, MapLocation target) throws GameActionException {
-        Direction current = rc.senseMapInfo(rc.adjacentLocation(d)).getCurrentDirection();
+        MapLocation here = rc.getLocation();
+        int idx = WorldMap.index(here.x + d.dx, here.y + d.dy);
+        if (!WorldMap.isKnown(idx)) {
+            return !hasCurrent(rc, d); // don't gamble on currents we know nothing about.
+        }
+        Direction current = WorldMap.current(idx);
         if (current == Direction.CENTER) {
             return true; // ok to step into locations with NO currents.
         } else if (current.opposite() == d) {
@@ -317,15 +418,12 @@ public class Pathing {
 
         // We have a current, let's follow it and see where it leads.
         // If the end is better than where we are now, then follow it.
-        Set<MapLocation> seen = new HashSet<>();
-        MapLocation next = rc.adjacentLocation(d);
-        while (!seen.contains(next) && rc.canSenseLocation(next)) {
-            MapInfo info = rc.senseMapInfo(next);
-            seen.add(next);
-            next = info.getMapLocation().add(info.getCurrentDirection());
-        }
-        // next is the endpoint, or it's as far as we can see.
-        return next.distanceSquaredTo(target) < rc.getLocation().distanceSquaredTo(target);
+        int end = Currents.endpoint(idx);
+        if (Currents.isCycle(end)) {
+            return false; // we'd go round in circles.
+        }
+        // end is the endpoint, or it's as far as we know.
+        return Geometry.distSq(Currents.x(end), Currents.y(end), target.x, target.y) < here.distanceSquaredTo(target);
     }
 
     static boolean hasBadCurrent(MapInfo info, Direction d) {
@@ -338,10 +436,21 @@ public class Pathing {
 //                && (Math.abs(8 - diff) <= 2 || Math.abs(diff) <= 2);
     }
 
+    // Random location on the map between min and max tiles away (chebyshev) from us, as far as the
+    // map edges allow.
     static MapLocation randomLocWithin(RobotController rc, int min, int max) {
-        // TODO: implement.
-        return new MapLocation(
-                RobotPlayer.rng.nextInt(rc.getMapWidth()),
-                RobotPlayer.rng.nextInt(rc.getMapHeight()));
+        MapLocation here = rc.getLocation();
+        int dx = RobotPlayer.rng.nextInt(2 * max + 1) - max;
+        int dy = RobotPlayer.rng.nextInt(2 * max + 1) - max;
+        if (Math.abs(dx) < min && Math.abs(dy) < min) { // push it out to the ring along one axis.
+            if (RobotPlayer.rng.nextBoolean()) {
+                dx = dx < 0 ? -min : min;
+            } else {
+                dy = dy < 0 ? -min : min;
+            }
+        }
+        int x = Math.max(0, Math.min(rc.getMapWidth() - 1, here.x + dx));
+        int y = Math.max(0, Math.min(rc.getMapHeight() - 1, here.y + dy));
+        return new MapLocation(x, y);
     }
 }
@@ -0,0 +1,147 @@
+package bobby;
+
+import battlecode.common.Clock;
+import battlecode.common.GameConstants;
+import battlecode.common.RobotController;
+
+import java.util.Arrays;
+
+/**
+ * Bytecode profiler for a fixed set of sections, with everything in primitive arrays so it
+ * allocates nothing while the game runs.
+ *
+ * Call sites always look like
+ *     if (Profiler.ENABLED) Profiler.begin(Profiler.SOME_SECTION);
+ * so that with ENABLED false (a compile-time constant), javac drops the whole statement and
+ * profiling costs nothing.
+ *
+ * For each section we keep count/sum/min/max and a histogram (for p95), plus a flight recorder of
+ * the last RECORDED_TURNS turns that gets printed when we run out of bytecode. Each robot prints
+ * its summary, tagged with its type, every DUMP_EVERY rounds, once when it's about to die, and on
+ * the last round; grep the logs by type to aggregate (the latest one per robot has it all).
+ */
+public class Profiler {
+
+    static final boolean ENABLED = RobotPlayer.PROFILE;
+
+    // Sections. Keep NAMES in sync.
+    static final int TURN = 0;
+    static final int KNOWLEDGE = 1;
+    static final int CARRIER_SENSE = 2;
+    static final int CARRIER_STATE = 3; // + Carrier.State ordinal
+    static final int NUM_CARRIER_STATES = 5;
+    static final int ASTAR = CARRIER_STATE + NUM_CARRIER_STATES;
+    static final int NUM_SECTIONS = ASTAR + 1;
+    static final String[] NAMES = {
+            "turn", "knowledge", "carrier sense",
+            "carrier UNASSIGNED", "carrier TO_WELL", "carrier COLLECTING", "carrier DROPPING_OFF", "carrier ANCHORING",
+            "astar"};
+
+    static final int BUCKET = 200; // histogram bucket width, in bytecode
+    static final int NUM_BUCKETS = 100; // the last one takes everything above.
+    static final int RECORDED_TURNS = 8;
+    static final int DUMP_EVERY = 250; // rounds; most games end well before the last round.
+    static final int DYING_HEALTH_PERCENT = 30; // dump once at or below this, since we can't tell which turn is our last.
+
+    private static final int[] starts = new int[NUM_SECTIONS];
+    private static final int[] counts = new int[NUM_SECTIONS];
+    private static final int[] sums = new int[NUM_SECTIONS];
+    private static final int[] mins = new int[NUM_SECTIONS];
+    private static final int[] maxs = new int[NUM_SECTIONS];
+    private static final int[] histogram = new int[NUM_SECTIONS * NUM_BUCKETS];
+
+    // Flight recorder: bytecode per section for each of the last RECORDED_TURNS turns.
+    private static final int[] recorded = new int[RECORDED_TURNS * NUM_SECTIONS];
+    private static final int[] recordedRounds = new int[RECORDED_TURNS];
+    private static int turns = 0;
+    private static boolean dumpedDying = false;
+
+    static {
+        Arrays.fill(mins, Integer.MAX_VALUE);
+    }
+
+    // Call at the start of every turn, before any begin().
+    static void startTurn(RobotController rc) {
+        int slot = turns++ % RECORDED_TURNS;
+        int row = slot * NUM_SECTIONS;
+        for (int i = NUM_SECTIONS; --i >= 0; ) {
+            recorded[row + i] = 0;
+        }
+        recordedRounds[slot] = rc.getRoundNum();
+    }
+
+    static void begin(int section) {
+        starts[section] = Clock.getBytecodeNum();
+    }
+
+    static void end(int section) {
+        record(section, Clock.getBytecodeNum() - starts[section]);
+    }
+
+    static void record(int section, int took) {
+        counts[section]++;
+        sums[section] += took;
+        if (took < mins[section]) mins[section] = took;
+        if (took > maxs[section]) maxs[section] = took;
+        int bucket = took / BUCKET;
+        histogram[section * NUM_BUCKETS + (bucket < NUM_BUCKETS ? bucket : NUM_BUCKETS - 1)]++;
+        if (turns > 0) { // i.e. after startTurn
+            recorded[((turns - 1) % RECORDED_TURNS) * NUM_SECTIONS + section] += took;
+        }
+    }
+
+    // Upper bound of the bucket the 95th percentile falls in.
+    static int p95(int section) {
+        int rank = counts[section] - counts[section] / 20; // the 95% lowest
+        int seen = 0;
+        int base = section * NUM_BUCKETS;
+        for (int b = 0; b < NUM_BUCKETS; b++) {
+            seen += histogram[base + b];
+            if (seen >= rank) {
+                return b == NUM_BUCKETS - 1 ? maxs[section] : (b + 1) * BUCKET;
+            }
+        }
+        return maxs[section];
+    }
+
+    // The last few turns, oldest first, e.g. after running out of bytecode.
+    static String flightRecord() {
+        StringBuilder sb = new StringBuilder("last turns (bytecode per section):");
+        for (int t = Math.max(0, turns - RECORDED_TURNS); t < turns; t++) {
+            int row = (t % RECORDED_TURNS) * NUM_SECTIONS;
+            sb.append("\n  round ").append(recordedRounds[t % RECORDED_TURNS]).append(':');
+            for (int i = 0; i < NUM_SECTIONS; i++) {
+                if (recorded[row + i] != 0) {
+                    sb.append(' ').append(NAMES[i]).append('=').append(recorded[row + i]);
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    static String summary(RobotController rc) {
+        StringBuilder sb = new StringBuilder("PROFILE ").append(rc.getType()).append(" (min/avg/p95/max over n turns):");
+        for (int i = 0; i < NUM_SECTIONS; i++) {
+            if (counts[i] > 0) {
+                sb.append("\n  ").append(NAMES[i]).append(": ").append(mins[i]).append('/').append(sums[i] / counts[i])
+                        .append('/').append(p95(i)).append('/').append(maxs[i]).append(" n=").append(counts[i]);
+            }
+        }
+        return sb.toString();
+    }
+
+    // Prints the summary every DUMP_EVERY rounds, when we're about to die, and on the last round.
+    static void maybeDump(RobotController rc) {
+        if (shouldDump(rc.getRoundNum(), rc.getHealth(), rc.getType().health)) {
+            System.out.println(summary(rc));
+        }
+    }
+
+    static boolean shouldDump(int round, int health, int maxHealth) {
+        if (!dumpedDying && health * 100 <= maxHealth * DYING_HEALTH_PERCENT) {
+            dumpedDying = true;
+            return true;
+        }
+        return round % DUMP_EVERY == 0 || round == GameConstants.GAME_MAX_NUMBER_OF_ROUNDS;
+    }
+}
@@ -12,7 +12,6 @@ import battlecode.common.Team;
 import battlecode.common.WellInfo;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -40,22 +39,7 @@ public strictfp class RobotPlayer {
 
     static final boolean DEBUG = false; // set to false before submitting.
     static final boolean PROFILE = false; // print bytecode usage in some places.
-    static List<CommandTime> profilingInfo = new ArrayList<>();
-
-    static class CommandTime {
-        String cmd;
-        int took;
-
-        public CommandTime(String cmd, int took) {
-            this.cmd = cmd;
-            this.took = took;
-        }
-
-        public String over(int total) {
-            return String.format("\n  %s took %d (%.2f%% of total %d)", cmd, took, 100.0 * took / total, total);
-        }
-    }
-
+    static final boolean BENCHMARK = false; // run LocBench on the first HQ's first turn.
     static final Random rng = new Random();
 
     // Knowledge
@@ -71,6 +55,12 @@ public strictfp class RobotPlayer {
     static boolean couldBeHorizontallySymmetric = true;
     static boolean couldBeRotationallySymmetric = true;
     static Mapping.Symmetry inferredSymmetry;
+    private static int symmetryShared = -1; // SYMMETRY slot as of the last sync.
+    private static int potentialsKey = -1; // what potentialEnemyHQs was built from; see updatePotentialEnemyHQs.
+
+    // Memory region versions we last decoded at (see Memory.version).
+    static int wellsVersion = -1;
+    static int enemyHQVersion = -1;
     static boolean hqsAreSet = false;
 
     static Map<MapLocation, Memory.Well> knownWells = new HashMap<>(); // saved in array
@@ -92,7 +82,9 @@ public strictfp class RobotPlayer {
             int startRound = rc.getRoundNum();
             int start = Clock.getBytecodeNum();
 
+            if (Profiler.ENABLED) Profiler.startTurn(rc);
             try {
+                SharedArrayMirror.refresh(rc);
                 switch (rc.getType()) {
                     case HEADQUARTERS:
                         Headquarter.run(rc);
@@ -120,14 +112,19 @@ public strictfp class RobotPlayer {
                 if (startRound != endRound) {
                     took = 12500;
                 }
+                if (Profiler.ENABLED) Profiler.record(Profiler.TURN, took);
                 if (took > 12000) {
-                    StringBuilder sb = new StringBuilder("Ran (or almost ran) out of bytecode on round " + startRound + "!");
-                    for (CommandTime ct : profilingInfo) {
-                        sb.append(ct.over(took));
-                    }
-                    System.out.println(sb);
+                    System.out.println("Ran (or almost ran) out of bytecode on round " + startRound + "! Last pathing tier: " + Pathing.lastTier);
+                    if (Profiler.ENABLED) System.out.println(Profiler.flightRecord());
+                }
+
+                // Spend whatever is left of this turn planning ahead.
+                if (startRound == endRound) {
+                    if (Profiler.ENABLED) Profiler.begin(Profiler.ASTAR);
+                    AStar.resume(rc);
+                    if (Profiler.ENABLED) Profiler.end(Profiler.ASTAR);
                 }
-                profilingInfo.clear(); // clear for next round.
+                if (Profiler.ENABLED) Profiler.maybeDump(rc);
 
                 // Signify we've done everything we want to do, thereby ending our turn.
                 // This will make our code wait until the next turn, and then perform this loop again.
@@ -142,6 +139,7 @@ public strictfp class RobotPlayer {
         // before: 944k, 50k
         // after removing ally hq: 771k, 54k.
         int start = Clock.getBytecodeNum();
+        if (Profiler.ENABLED) Profiler.begin(Profiler.KNOWLEDGE);
 
         if (knownHQs.isEmpty()) {
             knownHQs = Memory.readHeadquarters(rc, true, true);
@@ -153,16 +151,19 @@ public strictfp class RobotPlayer {
             System.out.println("enemy hqs took " + (hqsDone - allyHqsDone));
         }
 
-        if (includeWells) {
+        if (includeWells && Memory.version(Memory.WELLS_VERSION) != wellsVersion) {
+            wellsVersion = Memory.version(Memory.WELLS_VERSION);
             knownWells = Memory.readWells(rc);
             // Maybe someone else wrote the wells we've seen, so we don't need to write them anymore.
-            // This might be a bit bytecode-intensive, especially because most of the time nothing changed.
-            // TODO: consider tracking if knownWells changed.
+            // Only needed when the wells in memory changed.
             memoryWells.removeAll(knownWells.values());
         }
 
         int wellsDone = Clock.getBytecodeNum();
 
+        Messages.poll(rc);
+        if (Profiler.ENABLED) Profiler.end(Profiler.KNOWLEDGE);
+
         int took = Clock.getBytecodeNum() - start;
         if (shouldPrint(rc) && PROFILE)
             System.out.printf("UpdateKnowledge: took %d (hqs = %d, wells = %d)\n", took, hqsDone - start, wellsDone - hqsDone);
@@ -171,11 +172,14 @@ public strictfp class RobotPlayer {
     // ENEMY HQs and Map symmetry.
 
     private static void updateEnemyHQs(RobotController rc) throws GameActionException {
-        if (inferredSymmetry == null) {
+        // Nothing to learn unless someone wrote down an enemy HQ (or the lack of one) since we last looked.
+        if (inferredSymmetry == null && Memory.version(Memory.ENEMY_HQ_VERSION) != enemyHQVersion) {
+            enemyHQVersion = Memory.version(Memory.ENEMY_HQ_VERSION);
             knownEnemyHQs = Memory.readHeadquarters(rc, false, true);
             knownNotEnemyHQs = Memory.readHeadquarters(rc, false, false);
             inferSymmetry(rc);
         }
+        syncSymmetry(rc);
         if (inferredSymmetry == null) { // still not known? ok lets try potential locations
             updatePotentialEnemyHQs(rc);
             if (knownEnemyHQs.size() + memoryEnemyHQs.size() + potentialEnemyHQs.size() == knownHQs.size()) {
@@ -184,6 +188,7 @@ public strictfp class RobotPlayer {
                 potentialEnemyHQs.clear(); // we're done.
             }
         } else { // we know!
+            WorldMap.setSymmetry(rc, inferredSymmetry); // no-op after the first time.
             if (inferredSymmetry != Mapping.Symmetry.NOT_DECIPHERABLE_WITH_HQS_ALONE && !hqsAreSet) {
                 knownEnemyHQs.clear();
                 memoryEnemyHQs.clear(); // TODO: we inferred it, but we'll never write it back.
@@ -197,6 +202,48 @@ public strictfp class RobotPlayer {
         }
     }
 
+    // Picks up the symmetries someone else ruled out (or inferred), and shares the ones we did.
+    private static void syncSymmetry(RobotController rc) throws GameActionException {
+        int shared = MemoryLayout.readSymmetry(0);
+        if (shared != symmetryShared) {
+            symmetryShared = shared;
+            int ruledOut = MemoryLayout.symmetryRuledOut(shared);
+            if ((ruledOut & (1 << Mapping.Symmetry.VERTICAL.ordinal())) != 0) {
+                couldBeVerticallySymmetric = false;
+            }
+            if ((ruledOut & (1 << Mapping.Symmetry.HORIZONTAL.ordinal())) != 0) {
+                couldBeHorizontallySymmetric = false;
+            }
+            if ((ruledOut & (1 << Mapping.Symmetry.ROTATIONAL.ordinal())) != 0) {
+                couldBeRotationallySymmetric = false;
+            }
+            int inferred = MemoryLayout.symmetryInferred(shared);
+            if (inferredSymmetry == null) {
+                inferredSymmetry = inferred != 0 ? Mapping.Symmetry.values()[inferred - 1] : onlyPossibleSymmetry();
+            }
+        }
+
+        int ruledOut = (couldBeVerticallySymmetric ? 0 : 1 << Mapping.Symmetry.VERTICAL.ordinal())
+                | (couldBeHorizontallySymmetric ? 0 : 1 << Mapping.Symmetry.HORIZONTAL.ordinal())
+                | (couldBeRotationallySymmetric ? 0 : 1 << Mapping.Symmetry.ROTATIONAL.ordinal());
+        int mine = MemoryLayout.packSymmetry(ruledOut, inferredSymmetry == null ? 0 : inferredSymmetry.ordinal() + 1);
+        if (mine != symmetryShared && MemoryLayout.writeSymmetry(rc, 0, mine)) {
+            symmetryShared = mine;
+        }
+    }
+
+    // The symmetry that hasn't been ruled out, if there's only one left.
+    private static Mapping.Symmetry onlyPossibleSymmetry() {
+        if (!couldBeHorizontallySymmetric && !couldBeVerticallySymmetric) {
+            return Mapping.Symmetry.ROTATIONAL;
+        } else if (!couldBeHorizontallySymmetric && !couldBeRotationallySymmetric) {
+            return Mapping.Symmetry.VERTICAL;
+        } else if (!couldBeVerticallySymmetric && !couldBeRotationallySymmetric) {
+            return Mapping.Symmetry.HORIZONTAL;
+        }
+        return null;
+    }
+
     private static void updatePotentialEnemyHQs(RobotController rc) {
         // This method might not seem necessary. If we add the potentials once, and then we are
         // disciplined about removing potentials when we confirm or deny a potential HQ, then we
@@ -204,6 +251,14 @@ public strictfp class RobotPlayer {
         // we do want to remove those points from the potential list, so we save some compute.
         // NOTE: we could be a bit better about this, and instead clear the potentials when we
         // infer the symmetry. TODO.
+        // Only rebuild when something it depends on changed, though. Sizes are a good enough proxy.
+        int key = (couldBeVerticallySymmetric ? 1 : 0) | (couldBeHorizontallySymmetric ? 2 : 0) | (couldBeRotationallySymmetric ? 4 : 0)
+                | (knownHQs.size() << 3) | (knownEnemyHQs.size() << 6) | (memoryEnemyHQs.size() << 11)
+                | (knownNotEnemyHQs.size() << 16) | (memoryNotEnemyHQs.size() << 21);
+        if (key == potentialsKey) {
+            return;
+        }
+        potentialsKey = key;
 
         // Add every potential enemy HQ first.
         potentialEnemyHQs.clear();
@@ -279,13 +334,8 @@ public strictfp class RobotPlayer {
             }
         }
 
-        if (!couldBeHorizontallySymmetric && !couldBeVerticallySymmetric) {
-            inferredSymmetry = Mapping.Symmetry.ROTATIONAL;
-        } else if (!couldBeHorizontallySymmetric && !couldBeRotationallySymmetric) {
-            inferredSymmetry = Mapping.Symmetry.VERTICAL;
-        } else if (!couldBeVerticallySymmetric && !couldBeRotationallySymmetric) {
-            inferredSymmetry = Mapping.Symmetry.HORIZONTAL;
-        } else {
+        inferredSymmetry = onlyPossibleSymmetry();
+        if (inferredSymmetry == null) {
             // Sometimes we can't know based on HQ locations alone, but this can help us
             // save bytecode in the future.
             inferredSymmetry = Mapping.Symmetry.NOT_DECIPHERABLE_WITH_HQS_ALONE;
@@ -307,13 +357,7 @@ public strictfp class RobotPlayer {
             }
         }
 
-        if (!couldBeHorizontallySymmetric && !couldBeVerticallySymmetric) {
-            inferredSymmetry = Mapping.Symmetry.ROTATIONAL;
-        } else if (!couldBeHorizontallySymmetric && !couldBeRotationallySymmetric) {
-            inferredSymmetry = Mapping.Symmetry.VERTICAL;
-        } else if (!couldBeVerticallySymmetric && !couldBeRotationallySymmetric) {
-            inferredSymmetry = Mapping.Symmetry.HORIZONTAL;
-        }
+        inferredSymmetry = onlyPossibleSymmetry();
     }
 
     static void checkPotentialEnemyHQs(RobotController rc) throws GameActionException {
@@ -323,10 +367,13 @@ public strictfp class RobotPlayer {
             if (rc.getLocation().isWithinDistanceSquared(potential, rc.getType().visionRadiusSquared)) {
                 if (rc.canSenseLocation(potential)) {
                     RobotInfo info = rc.senseRobotAtLocation(potential);
+                    int loc = Memory.encodeMapLocation(potential);
                     if (info != null && info.getTeam() == rc.getTeam().opponent() && info.getType() == RobotType.HEADQUARTERS) {
                         memoryEnemyHQs.add(potential);
+                        WriteQueue.add(WriteQueue.ENEMY_HQ, MemoryLayout.packEnemyHq(loc, 1), WriteQueue.PRIORITY_ENEMY_HQ);
                     } else { // no robot, or it's our team, or it's not an HQ => no enemy HQ here!
                         memoryNotEnemyHQs.add(potential);
+                        WriteQueue.add(WriteQueue.ENEMY_HQ, MemoryLayout.packEnemyHq(loc, 0), WriteQueue.PRIORITY_NOT_ENEMY_HQ);
                     }
                     iter.remove(); // now we know the truth, so it's no longer "potential"
                 } else {
@@ -338,25 +385,21 @@ public strictfp class RobotPlayer {
         }
     }
 
-    static void maybeFlushEnemyHQs(RobotController rc) throws GameActionException {
-        if (rc.canWriteSharedArray(0, 0)) { // within writing distance
-            if (memoryEnemyHQs.size() > 0) {
-                for (Iterator<MapLocation> i = memoryEnemyHQs.iterator(); i.hasNext(); ) {
-                    MapLocation enemyHQ = i.next();
-                    boolean written = Memory.writeHeadquarter(rc, enemyHQ, false, true);
-                    if (written) {
-                        i.remove();
-                    }
-                }
+    // Writes back everything we've queued up (see WriteQueue), if we're in range. Enemy HQs that
+    // made it to the array are no longer only "in memory".
+    static void maybeFlushWrites(RobotController rc) throws GameActionException {
+        if (WriteQueue.size == 0) {
+            return;
+        }
+        WriteQueue.flush(rc);
+        for (Iterator<MapLocation> i = memoryEnemyHQs.iterator(); i.hasNext(); ) {
+            if (!WriteQueue.isQueued(WriteQueue.ENEMY_HQ, Memory.encodeMapLocation(i.next()))) {
+                i.remove();
             }
-            if (memoryNotEnemyHQs.size() > 0) {
-                for (Iterator<MapLocation> i = memoryNotEnemyHQs.iterator(); i.hasNext(); ) {
-                    MapLocation notEnemyHQ = i.next();
-                    boolean written = Memory.writeHeadquarter(rc, notEnemyHQ, false, false);
-                    if (written) {
-                        i.remove();
-                    }
-                }
+        }
+        for (Iterator<MapLocation> i = memoryNotEnemyHQs.iterator(); i.hasNext(); ) {
+            if (!WriteQueue.isQueued(WriteQueue.ENEMY_HQ, Memory.encodeMapLocation(i.next()))) {
+                i.remove();
             }
         }
     }
@@ -365,26 +408,22 @@ public strictfp class RobotPlayer {
 
     static void senseNearbyWells(RobotController rc) {
         WellInfo[] wellInfos = rc.senseNearbyWells();
+        WorldMap.recordWells(wellInfos);
         for (WellInfo wi : wellInfos) {
             if (!knownWells.containsKey(wi.getMapLocation())) {
                 // Found a new well... keep it in memory so we can write it back when close to comms.
-                memoryWells.add(Memory.Well.from(wi, false));
+                Memory.Well well = Memory.Well.from(wi, false);
+                if (memoryWells.add(well)) {
+                    WriteQueue.add(WriteQueue.WELL, Memory.encodeWell(well), WriteQueue.PRIORITY_WELL);
+                }
             }
         }
     }
 
-    static void maybeFlushWells(RobotController rc) throws GameActionException {
-        // Flush memory if we can.
-        if (memoryWells.size() > 0 && rc.canWriteSharedArray(0, 0)) { // in-range
-            knownWells = Memory.maybeWriteWells(rc, memoryWells);
-            // Don't clear all, because maybe we failed to write some. If we succeeded, we'll read next round
-            memoryWells.removeAll(knownWells.values());
-        }
-    }
-
     // ISLANDS
     static Map<Integer, Island> islands = new HashMap<>();
     static List<Integer> nearbyNeutrals = new ArrayList<>();
+    static Set<Integer> pendingIslands = new HashSet<>(); // ids of islands that changed, to be written.
 
     static void updateNearbyIslands(RobotController rc) throws GameActionException {
         int[] nearbyIslands = rc.senseNearbyIslands();
@@ -401,12 +440,15 @@ public strictfp class RobotPlayer {
     static Island addOrUpdateIsland(RobotController rc, int id) throws GameActionException {
         Team team = rc.senseTeamOccupyingIsland(id);
         MapLocation[] locs = rc.senseNearbyIslandLocations(id);
+        WorldMap.recordIsland(id, locs);
         Island island = islands.get(id);
+        int before = -1;
         if (island == null) { // add new
-            island = new Island(id, Arrays.asList(locs), team, rc.getRoundNum());
+            island = new Island(id, locs, team, rc.getRoundNum());
             islands.put(id, island);
         } else { // update existing
-            island.locations.addAll(Arrays.asList(locs));
+            before = Memory.encodeIslandLoc(island) * 8 + Memory.healthBucket(island);
+            island.add(locs);
             island.asOf = rc.getRoundNum();
             if (team == Team.NEUTRAL) {
                 island.clearOccupier();
@@ -415,9 +457,18 @@ public strictfp class RobotPlayer {
         if (team != Team.NEUTRAL) {
             island.setOccupier(team, rc.senseAnchor(id), rc.senseAnchorPlantedHealth(id));
         }
+        if (Memory.encodeIslandLoc(island) * 8 + Memory.healthBucket(island) != before) {
+            pendingIslands.add(id);
+        }
         return island;
     }
 
+    static void maybeFlushIslands(RobotController rc) throws GameActionException {
+        if (pendingIslands.size() > 0 && rc.canWriteSharedArray(0, 0)) { // in-range
+            Memory.writeIslands(rc, islands, pendingIslands);
+        }
+    }
+
     // DEBUGGING methods below.
 
     static boolean shouldPrint(RobotController rc) {
@@ -468,12 +519,14 @@ public strictfp class RobotPlayer {
             rc.setIndicatorDot(well.loc, 120, 120, 120);
         }
         for (Memory.Well well : knownWells.values()) {
-            rc.setIndicatorDot(well.loc, well.saturated ? 255 : 0, well.saturated ? 0 : 255, 0);
+            boolean saturated = Occupancy.isSaturated(well);
+            rc.setIndicatorDot(well.loc, saturated ? 255 : 0, saturated ? 0 : 255, 0);
         }
 
         // Islands
         for (Island island : islands.values()) {
-            for (MapLocation loc : island.locations) {
+            for (int i = island.tiles.size(); --i >= 0; ) {
+                MapLocation loc = island.tiles.getLocation(i);
                 int rgb = island.team == Team.NEUTRAL ? 255 : (int) 245.0 * island.health / island.anchor.totalHealth + 10;
                 rc.setIndicatorDot(loc,
                         island.team == Team.A ? rgb : island.team == Team.NEUTRAL ? rgb : 0,
@@ -482,8 +535,4 @@ public strictfp class RobotPlayer {
             }
         }
     }
-
-    static void profile(String cmd, int took) {
-        profilingInfo.add(new CommandTime(cmd, took));
-    }
 }
@@ -0,0 +1,36 @@
+package bobby;
+
+import battlecode.common.GameActionException;
+import battlecode.common.GameConstants;
+import battlecode.common.RobotController;
+
+/**
+ * Snapshot of the shared array, read once at the start of each turn. All Memory reads go through
+ * here instead of rc.readSharedArray, and all writes (through MemoryLayout) update it too, so it
+ * stays exact for the rest of the turn: nobody else can write while it's our turn.
+ *
+ * To skip decoding regions that didn't change, readers check the version counters in HEADER
+ * (see Memory.version).
+ */
+public class SharedArrayMirror {
+
+    static final int[] slots = new int[GameConstants.SHARED_ARRAY_LENGTH];
+
+    private static int refreshedRound = -1;
+
+    static void refresh(RobotController rc) throws GameActionException {
+        int round = rc.getRoundNum();
+        if (round == refreshedRound) {
+            return;
+        }
+        refreshedRound = round;
+        for (int i = MemoryLayout.NUM_SLOTS_USED; --i >= 0; ) {
+            slots[i] = rc.readSharedArray(i);
+        }
+    }
+
+    // Records a write we just made.
+    static void set(int i, int data) {
+        slots[i] = data;
+    }
+}
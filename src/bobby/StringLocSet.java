@@ -0,0 +1,88 @@
+package bobby;
+
+import battlecode.common.MapLocation;
+
+/**
+ * Set of map locations backed by a StringBuilder, one char per location (its
+ * Memory.encodeMapLocation value, which fits in a char). contains/add/remove are a single
+ * indexOf, which the instrumenter counts as one call however long the string is, so they cost the
+ * same bytecode with 5 or 500 locations. Prefer LocSet when you need a few sets that stay around;
+ * this one is small, so it's fine to have one per island or path.
+ *
+ * Iterate with:
+ *     for (int i = set.size(); --i >= 0; ) { int loc = set.get(i); ... }
+ */
+public class StringLocSet {
+
+    // One-char strings to search for, created as needed (so they're only allocated once).
+    private static final String[] TOKENS = new String[WorldMap.SIZE];
+
+    private final StringBuilder locs = new StringBuilder();
+
+    private static String token(int loc) {
+        String token = TOKENS[loc];
+        if (token == null) {
+            token = TOKENS[loc] = String.valueOf((char) loc);
+        }
+        return token;
+    }
+
+    int size() {
+        return locs.length();
+    }
+
+    boolean isEmpty() {
+        return locs.length() == 0;
+    }
+
+    void clear() {
+        locs.setLength(0);
+    }
+
+    // The i-th location, in no particular order.
+    int get(int i) {
+        return locs.charAt(i);
+    }
+
+    MapLocation getLocation(int i) {
+        return Memory.decodeMapLocation(locs.charAt(i));
+    }
+
+    boolean contains(int loc) {
+        return locs.indexOf(token(loc)) >= 0;
+    }
+
+    boolean contains(MapLocation loc) {
+        return contains(Memory.encodeMapLocation(loc));
+    }
+
+    // Returns true if loc wasn't in the set already.
+    boolean add(int loc) {
+        if (locs.indexOf(token(loc)) >= 0) {
+            return false;
+        }
+        locs.append((char) loc);
+        return true;
+    }
+
+    boolean add(MapLocation loc) {
+        return add(Memory.encodeMapLocation(loc));
+    }
+
+    // Returns true if loc was in the set.
+    boolean remove(int loc) {
+        int i = locs.indexOf(token(loc));
+        if (i < 0) {
+            return false;
+        }
+        // Move the last one into the hole, rather than shifting everything after it.
+        int last = locs.length() - 1;
+        locs.setCharAt(i, locs.charAt(last));
+        locs.setLength(last);
+        return true;
+    }
+
+    boolean remove(MapLocation loc) {
+        return remove(Memory.encodeMapLocation(loc));
+    }
+}
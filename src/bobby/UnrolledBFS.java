@@ -0,0 +1,1852 @@
+package bobby;
+
+import battlecode.common.Direction;
+import battlecode.common.GameActionException;
+import battlecode.common.MapLocation;
+import battlecode.common.RobotController;
+
+// AUTO-GENERATED by tools/codegen/UnrolledBfsGenerator.java (./gradlew generateBfs). DO NOT EDIT.
+//
+// Single-pass Bellman-Ford over the 69 tiles within radius^2 20. Tiles are relaxed
+// in order of distance from the robot, from every already-relaxed neighbor, so everything lives in
+// locals (l = location, v = moves to get there, d = first direction to take).
+public class UnrolledBFS {
+
+    static final int RADIUS_SQUARED = 20;
+    static final int UNREACHABLE = 1000000;
+
+    // Returns the first step of the shortest known path towards target: straight to it if it's
+    // within the disc, otherwise to the frontier tile that minimizes moves + chebyshev distance.
+    // Returns null if nothing on the frontier is reachable.
+    static Direction bestDirection(RobotController rc, MapLocation target) throws GameActionException {
+        MapLocation l4_4 = rc.getLocation();
+
+        int v3_4 = UNREACHABLE;
+        Direction d3_4 = null;
+        if (rc.canMove(Direction.WEST) && !Pathing.hasCurrent(rc, Direction.WEST)) {
+            v3_4 = 1;
+            d3_4 = Direction.WEST;
+        }
+        int v4_3 = UNREACHABLE;
+        Direction d4_3 = null;
+        if (rc.canMove(Direction.SOUTH) && !Pathing.hasCurrent(rc, Direction.SOUTH)) {
+            v4_3 = 1;
+            d4_3 = Direction.SOUTH;
+        }
+        int v4_5 = UNREACHABLE;
+        Direction d4_5 = null;
+        if (rc.canMove(Direction.NORTH) && !Pathing.hasCurrent(rc, Direction.NORTH)) {
+            v4_5 = 1;
+            d4_5 = Direction.NORTH;
+        }
+        int v5_4 = UNREACHABLE;
+        Direction d5_4 = null;
+        if (rc.canMove(Direction.EAST) && !Pathing.hasCurrent(rc, Direction.EAST)) {
+            v5_4 = 1;
+            d5_4 = Direction.EAST;
+        }
+        int v3_3 = UNREACHABLE;
+        Direction d3_3 = null;
+        if (rc.canMove(Direction.SOUTHWEST) && !Pathing.hasCurrent(rc, Direction.SOUTHWEST)) {
+            v3_3 = 1;
+            d3_3 = Direction.SOUTHWEST;
+        }
+        int v3_5 = UNREACHABLE;
+        Direction d3_5 = null;
+        if (rc.canMove(Direction.NORTHWEST) && !Pathing.hasCurrent(rc, Direction.NORTHWEST)) {
+            v3_5 = 1;
+            d3_5 = Direction.NORTHWEST;
+        }
+        int v5_3 = UNREACHABLE;
+        Direction d5_3 = null;
+        if (rc.canMove(Direction.SOUTHEAST) && !Pathing.hasCurrent(rc, Direction.SOUTHEAST)) {
+            v5_3 = 1;
+            d5_3 = Direction.SOUTHEAST;
+        }
+        int v5_5 = UNREACHABLE;
+        Direction d5_5 = null;
+        if (rc.canMove(Direction.NORTHEAST) && !Pathing.hasCurrent(rc, Direction.NORTHEAST)) {
+            v5_5 = 1;
+            d5_5 = Direction.NORTHEAST;
+        }
+        MapLocation l2_4 = l4_4.translate(-2, 0);
+        int v2_4 = UNREACHABLE;
+        Direction d2_4 = null;
+        if (rc.canSenseLocation(l2_4) && rc.sensePassability(l2_4)) {
+            if (v3_4 < v2_4) {
+                v2_4 = v3_4;
+                d2_4 = d3_4;
+            }
+            if (v3_3 < v2_4) {
+                v2_4 = v3_3;
+                d2_4 = d3_3;
+            }
+            if (v3_5 < v2_4) {
+                v2_4 = v3_5;
+                d2_4 = d3_5;
+            }
+            v2_4++;
+        }
+        MapLocation l4_2 = l4_4.translate(0, -2);
+        int v4_2 = UNREACHABLE;
+        Direction d4_2 = null;
+        if (rc.canSenseLocation(l4_2) && rc.sensePassability(l4_2)) {
+            if (v4_3 < v4_2) {
+                v4_2 = v4_3;
+                d4_2 = d4_3;
+            }
+            if (v3_3 < v4_2) {
+                v4_2 = v3_3;
+                d4_2 = d3_3;
+            }
+            if (v5_3 < v4_2) {
+                v4_2 = v5_3;
+                d4_2 = d5_3;
+            }
+            v4_2++;
+        }
+        MapLocation l4_6 = l4_4.translate(0, 2);
+        int v4_6 = UNREACHABLE;
+        Direction d4_6 = null;
+        if (rc.canSenseLocation(l4_6) && rc.sensePassability(l4_6)) {
+            if (v4_5 < v4_6) {
+                v4_6 = v4_5;
+                d4_6 = d4_5;
+            }
+            if (v3_5 < v4_6) {
+                v4_6 = v3_5;
+                d4_6 = d3_5;
+            }
+            if (v5_5 < v4_6) {
+                v4_6 = v5_5;
+                d4_6 = d5_5;
+            }
+            v4_6++;
+        }
+        MapLocation l6_4 = l4_4.translate(2, 0);
+        int v6_4 = UNREACHABLE;
+        Direction d6_4 = null;
+        if (rc.canSenseLocation(l6_4) && rc.sensePassability(l6_4)) {
+            if (v5_4 < v6_4) {
+                v6_4 = v5_4;
+                d6_4 = d5_4;
+            }
+            if (v5_3 < v6_4) {
+                v6_4 = v5_3;
+                d6_4 = d5_3;
+            }
+            if (v5_5 < v6_4) {
+                v6_4 = v5_5;
+                d6_4 = d5_5;
+            }
+            v6_4++;
+        }
+        MapLocation l2_3 = l4_4.translate(-2, -1);
+        int v2_3 = UNREACHABLE;
+        Direction d2_3 = null;
+        if (rc.canSenseLocation(l2_3) && rc.sensePassability(l2_3)) {
+            if (v3_4 < v2_3) {
+                v2_3 = v3_4;
+                d2_3 = d3_4;
+            }
+            if (v3_3 < v2_3) {
+                v2_3 = v3_3;
+                d2_3 = d3_3;
+            }
+            if (v2_4 < v2_3) {
+                v2_3 = v2_4;
+                d2_3 = d2_4;
+            }
+            v2_3++;
+        }
+        MapLocation l2_5 = l4_4.translate(-2, 1);
+        int v2_5 = UNREACHABLE;
+        Direction d2_5 = null;
+        if (rc.canSenseLocation(l2_5) && rc.sensePassability(l2_5)) {
+            if (v3_4 < v2_5) {
+                v2_5 = v3_4;
+                d2_5 = d3_4;
+            }
+            if (v3_5 < v2_5) {
+                v2_5 = v3_5;
+                d2_5 = d3_5;
+            }
+            if (v2_4 < v2_5) {
+                v2_5 = v2_4;
+                d2_5 = d2_4;
+            }
+            v2_5++;
+        }
+        MapLocation l3_2 = l4_4.translate(-1, -2);
+        int v3_2 = UNREACHABLE;
+        Direction d3_2 = null;
+        if (rc.canSenseLocation(l3_2) && rc.sensePassability(l3_2)) {
+            if (v4_3 < v3_2) {
+                v3_2 = v4_3;
+                d3_2 = d4_3;
+            }
+            if (v3_3 < v3_2) {
+                v3_2 = v3_3;
+                d3_2 = d3_3;
+            }
+            if (v4_2 < v3_2) {
+                v3_2 = v4_2;
+                d3_2 = d4_2;
+            }
+            if (v2_3 < v3_2) {
+                v3_2 = v2_3;
+                d3_2 = d2_3;
+            }
+            v3_2++;
+        }
+        MapLocation l3_6 = l4_4.translate(-1, 2);
+        int v3_6 = UNREACHABLE;
+        Direction d3_6 = null;
+        if (rc.canSenseLocation(l3_6) && rc.sensePassability(l3_6)) {
+            if (v4_5 < v3_6) {
+                v3_6 = v4_5;
+                d3_6 = d4_5;
+            }
+            if (v3_5 < v3_6) {
+                v3_6 = v3_5;
+                d3_6 = d3_5;
+            }
+            if (v4_6 < v3_6) {
+                v3_6 = v4_6;
+                d3_6 = d4_6;
+            }
+            if (v2_5 < v3_6) {
+                v3_6 = v2_5;
+                d3_6 = d2_5;
+            }
+            v3_6++;
+        }
+        MapLocation l5_2 = l4_4.translate(1, -2);
+        int v5_2 = UNREACHABLE;
+        Direction d5_2 = null;
+        if (rc.canSenseLocation(l5_2) && rc.sensePassability(l5_2)) {
+            if (v4_3 < v5_2) {
+                v5_2 = v4_3;
+                d5_2 = d4_3;
+            }
+            if (v5_3 < v5_2) {
+                v5_2 = v5_3;
+                d5_2 = d5_3;
+            }
+            if (v4_2 < v5_2) {
+                v5_2 = v4_2;
+                d5_2 = d4_2;
+            }
+            v5_2++;
+        }
+        MapLocation l5_6 = l4_4.translate(1, 2);
+        int v5_6 = UNREACHABLE;
+        Direction d5_6 = null;
+        if (rc.canSenseLocation(l5_6) && rc.sensePassability(l5_6)) {
+            if (v4_5 < v5_6) {
+                v5_6 = v4_5;
+                d5_6 = d4_5;
+            }
+            if (v5_5 < v5_6) {
+                v5_6 = v5_5;
+                d5_6 = d5_5;
+            }
+            if (v4_6 < v5_6) {
+                v5_6 = v4_6;
+                d5_6 = d4_6;
+            }
+            v5_6++;
+        }
+        MapLocation l6_3 = l4_4.translate(2, -1);
+        int v6_3 = UNREACHABLE;
+        Direction d6_3 = null;
+        if (rc.canSenseLocation(l6_3) && rc.sensePassability(l6_3)) {
+            if (v5_4 < v6_3) {
+                v6_3 = v5_4;
+                d6_3 = d5_4;
+            }
+            if (v5_3 < v6_3) {
+                v6_3 = v5_3;
+                d6_3 = d5_3;
+            }
+            if (v6_4 < v6_3) {
+                v6_3 = v6_4;
+                d6_3 = d6_4;
+            }
+            if (v5_2 < v6_3) {
+                v6_3 = v5_2;
+                d6_3 = d5_2;
+            }
+            v6_3++;
+        }
+        MapLocation l6_5 = l4_4.translate(2, 1);
+        int v6_5 = UNREACHABLE;
+        Direction d6_5 = null;
+        if (rc.canSenseLocation(l6_5) && rc.sensePassability(l6_5)) {
+            if (v5_4 < v6_5) {
+                v6_5 = v5_4;
+                d6_5 = d5_4;
+            }
+            if (v5_5 < v6_5) {
+                v6_5 = v5_5;
+                d6_5 = d5_5;
+            }
+            if (v6_4 < v6_5) {
+                v6_5 = v6_4;
+                d6_5 = d6_4;
+            }
+            if (v5_6 < v6_5) {
+                v6_5 = v5_6;
+                d6_5 = d5_6;
+            }
+            v6_5++;
+        }
+        MapLocation l2_2 = l4_4.translate(-2, -2);
+        int v2_2 = UNREACHABLE;
+        Direction d2_2 = null;
+        if (rc.canSenseLocation(l2_2) && rc.sensePassability(l2_2)) {
+            if (v3_3 < v2_2) {
+                v2_2 = v3_3;
+                d2_2 = d3_3;
+            }
+            if (v2_3 < v2_2) {
+                v2_2 = v2_3;
+                d2_2 = d2_3;
+            }
+            if (v3_2 < v2_2) {
+                v2_2 = v3_2;
+                d2_2 = d3_2;
+            }
+            v2_2++;
+        }
+        MapLocation l2_6 = l4_4.translate(-2, 2);
+        int v2_6 = UNREACHABLE;
+        Direction d2_6 = null;
+        if (rc.canSenseLocation(l2_6) && rc.sensePassability(l2_6)) {
+            if (v3_5 < v2_6) {
+                v2_6 = v3_5;
+                d2_6 = d3_5;
+            }
+            if (v2_5 < v2_6) {
+                v2_6 = v2_5;
+                d2_6 = d2_5;
+            }
+            if (v3_6 < v2_6) {
+                v2_6 = v3_6;
+                d2_6 = d3_6;
+            }
+            v2_6++;
+        }
+        MapLocation l6_2 = l4_4.translate(2, -2);
+        int v6_2 = UNREACHABLE;
+        Direction d6_2 = null;
+        if (rc.canSenseLocation(l6_2) && rc.sensePassability(l6_2)) {
+            if (v5_3 < v6_2) {
+                v6_2 = v5_3;
+                d6_2 = d5_3;
+            }
+            if (v5_2 < v6_2) {
+                v6_2 = v5_2;
+                d6_2 = d5_2;
+            }
+            if (v6_3 < v6_2) {
+                v6_2 = v6_3;
+                d6_2 = d6_3;
+            }
+            v6_2++;
+        }
+        MapLocation l6_6 = l4_4.translate(2, 2);
+        int v6_6 = UNREACHABLE;
+        Direction d6_6 = null;
+        if (rc.canSenseLocation(l6_6) && rc.sensePassability(l6_6)) {
+            if (v5_5 < v6_6) {
+                v6_6 = v5_5;
+                d6_6 = d5_5;
+            }
+            if (v5_6 < v6_6) {
+                v6_6 = v5_6;
+                d6_6 = d5_6;
+            }
+            if (v6_5 < v6_6) {
+                v6_6 = v6_5;
+                d6_6 = d6_5;
+            }
+            v6_6++;
+        }
+        MapLocation l1_4 = l4_4.translate(-3, 0);
+        int v1_4 = UNREACHABLE;
+        Direction d1_4 = null;
+        if (rc.canSenseLocation(l1_4) && rc.sensePassability(l1_4)) {
+            if (v2_4 < v1_4) {
+                v1_4 = v2_4;
+                d1_4 = d2_4;
+            }
+            if (v2_3 < v1_4) {
+                v1_4 = v2_3;
+                d1_4 = d2_3;
+            }
+            if (v2_5 < v1_4) {
+                v1_4 = v2_5;
+                d1_4 = d2_5;
+            }
+            v1_4++;
+        }
+        MapLocation l4_1 = l4_4.translate(0, -3);
+        int v4_1 = UNREACHABLE;
+        Direction d4_1 = null;
+        if (rc.canSenseLocation(l4_1) && rc.sensePassability(l4_1)) {
+            if (v4_2 < v4_1) {
+                v4_1 = v4_2;
+                d4_1 = d4_2;
+            }
+            if (v3_2 < v4_1) {
+                v4_1 = v3_2;
+                d4_1 = d3_2;
+            }
+            if (v5_2 < v4_1) {
+                v4_1 = v5_2;
+                d4_1 = d5_2;
+            }
+            v4_1++;
+        }
+        MapLocation l4_7 = l4_4.translate(0, 3);
+        int v4_7 = UNREACHABLE;
+        Direction d4_7 = null;
+        if (rc.canSenseLocation(l4_7) && rc.sensePassability(l4_7)) {
+            if (v4_6 < v4_7) {
+                v4_7 = v4_6;
+                d4_7 = d4_6;
+            }
+            if (v3_6 < v4_7) {
+                v4_7 = v3_6;
+                d4_7 = d3_6;
+            }
+            if (v5_6 < v4_7) {
+                v4_7 = v5_6;
+                d4_7 = d5_6;
+            }
+            v4_7++;
+        }
+        MapLocation l7_4 = l4_4.translate(3, 0);
+        int v7_4 = UNREACHABLE;
+        Direction d7_4 = null;
+        if (rc.canSenseLocation(l7_4) && rc.sensePassability(l7_4)) {
+            if (v6_4 < v7_4) {
+                v7_4 = v6_4;
+                d7_4 = d6_4;
+            }
+            if (v6_3 < v7_4) {
+                v7_4 = v6_3;
+                d7_4 = d6_3;
+            }
+            if (v6_5 < v7_4) {
+                v7_4 = v6_5;
+                d7_4 = d6_5;
+            }
+            v7_4++;
+        }
+        MapLocation l1_3 = l4_4.translate(-3, -1);
+        int v1_3 = UNREACHABLE;
+        Direction d1_3 = null;
+        if (rc.canSenseLocation(l1_3) && rc.sensePassability(l1_3)) {
+            if (v2_4 < v1_3) {
+                v1_3 = v2_4;
+                d1_3 = d2_4;
+            }
+            if (v2_3 < v1_3) {
+                v1_3 = v2_3;
+                d1_3 = d2_3;
+            }
+            if (v2_2 < v1_3) {
+                v1_3 = v2_2;
+                d1_3 = d2_2;
+            }
+            if (v1_4 < v1_3) {
+                v1_3 = v1_4;
+                d1_3 = d1_4;
+            }
+            v1_3++;
+        }
+        MapLocation l1_5 = l4_4.translate(-3, 1);
+        int v1_5 = UNREACHABLE;
+        Direction d1_5 = null;
+        if (rc.canSenseLocation(l1_5) && rc.sensePassability(l1_5)) {
+            if (v2_4 < v1_5) {
+                v1_5 = v2_4;
+                d1_5 = d2_4;
+            }
+            if (v2_5 < v1_5) {
+                v1_5 = v2_5;
+                d1_5 = d2_5;
+            }
+            if (v2_6 < v1_5) {
+                v1_5 = v2_6;
+                d1_5 = d2_6;
+            }
+            if (v1_4 < v1_5) {
+                v1_5 = v1_4;
+                d1_5 = d1_4;
+            }
+            v1_5++;
+        }
+        MapLocation l3_1 = l4_4.translate(-1, -3);
+        int v3_1 = UNREACHABLE;
+        Direction d3_1 = null;
+        if (rc.canSenseLocation(l3_1) && rc.sensePassability(l3_1)) {
+            if (v4_2 < v3_1) {
+                v3_1 = v4_2;
+                d3_1 = d4_2;
+            }
+            if (v3_2 < v3_1) {
+                v3_1 = v3_2;
+                d3_1 = d3_2;
+            }
+            if (v2_2 < v3_1) {
+                v3_1 = v2_2;
+                d3_1 = d2_2;
+            }
+            if (v4_1 < v3_1) {
+                v3_1 = v4_1;
+                d3_1 = d4_1;
+            }
+            v3_1++;
+        }
+        MapLocation l3_7 = l4_4.translate(-1, 3);
+        int v3_7 = UNREACHABLE;
+        Direction d3_7 = null;
+        if (rc.canSenseLocation(l3_7) && rc.sensePassability(l3_7)) {
+            if (v4_6 < v3_7) {
+                v3_7 = v4_6;
+                d3_7 = d4_6;
+            }
+            if (v3_6 < v3_7) {
+                v3_7 = v3_6;
+                d3_7 = d3_6;
+            }
+            if (v2_6 < v3_7) {
+                v3_7 = v2_6;
+                d3_7 = d2_6;
+            }
+            if (v4_7 < v3_7) {
+                v3_7 = v4_7;
+                d3_7 = d4_7;
+            }
+            v3_7++;
+        }
+        MapLocation l5_1 = l4_4.translate(1, -3);
+        int v5_1 = UNREACHABLE;
+        Direction d5_1 = null;
+        if (rc.canSenseLocation(l5_1) && rc.sensePassability(l5_1)) {
+            if (v4_2 < v5_1) {
+                v5_1 = v4_2;
+                d5_1 = d4_2;
+            }
+            if (v5_2 < v5_1) {
+                v5_1 = v5_2;
+                d5_1 = d5_2;
+            }
+            if (v6_2 < v5_1) {
+                v5_1 = v6_2;
+                d5_1 = d6_2;
+            }
+            if (v4_1 < v5_1) {
+                v5_1 = v4_1;
+                d5_1 = d4_1;
+            }
+            v5_1++;
+        }
+        MapLocation l5_7 = l4_4.translate(1, 3);
+        int v5_7 = UNREACHABLE;
+        Direction d5_7 = null;
+        if (rc.canSenseLocation(l5_7) && rc.sensePassability(l5_7)) {
+            if (v4_6 < v5_7) {
+                v5_7 = v4_6;
+                d5_7 = d4_6;
+            }
+            if (v5_6 < v5_7) {
+                v5_7 = v5_6;
+                d5_7 = d5_6;
+            }
+            if (v6_6 < v5_7) {
+                v5_7 = v6_6;
+                d5_7 = d6_6;
+            }
+            if (v4_7 < v5_7) {
+                v5_7 = v4_7;
+                d5_7 = d4_7;
+            }
+            v5_7++;
+        }
+        MapLocation l7_3 = l4_4.translate(3, -1);
+        int v7_3 = UNREACHABLE;
+        Direction d7_3 = null;
+        if (rc.canSenseLocation(l7_3) && rc.sensePassability(l7_3)) {
+            if (v6_4 < v7_3) {
+                v7_3 = v6_4;
+                d7_3 = d6_4;
+            }
+            if (v6_3 < v7_3) {
+                v7_3 = v6_3;
+                d7_3 = d6_3;
+            }
+            if (v6_2 < v7_3) {
+                v7_3 = v6_2;
+                d7_3 = d6_2;
+            }
+            if (v7_4 < v7_3) {
+                v7_3 = v7_4;
+                d7_3 = d7_4;
+            }
+            v7_3++;
+        }
+        MapLocation l7_5 = l4_4.translate(3, 1);
+        int v7_5 = UNREACHABLE;
+        Direction d7_5 = null;
+        if (rc.canSenseLocation(l7_5) && rc.sensePassability(l7_5)) {
+            if (v6_4 < v7_5) {
+                v7_5 = v6_4;
+                d7_5 = d6_4;
+            }
+            if (v6_5 < v7_5) {
+                v7_5 = v6_5;
+                d7_5 = d6_5;
+            }
+            if (v6_6 < v7_5) {
+                v7_5 = v6_6;
+                d7_5 = d6_6;
+            }
+            if (v7_4 < v7_5) {
+                v7_5 = v7_4;
+                d7_5 = d7_4;
+            }
+            v7_5++;
+        }
+        MapLocation l1_2 = l4_4.translate(-3, -2);
+        int v1_2 = UNREACHABLE;
+        Direction d1_2 = null;
+        if (rc.canSenseLocation(l1_2) && rc.sensePassability(l1_2)) {
+            if (v2_3 < v1_2) {
+                v1_2 = v2_3;
+                d1_2 = d2_3;
+            }
+            if (v2_2 < v1_2) {
+                v1_2 = v2_2;
+                d1_2 = d2_2;
+            }
+            if (v1_3 < v1_2) {
+                v1_2 = v1_3;
+                d1_2 = d1_3;
+            }
+            v1_2++;
+        }
+        MapLocation l1_6 = l4_4.translate(-3, 2);
+        int v1_6 = UNREACHABLE;
+        Direction d1_6 = null;
+        if (rc.canSenseLocation(l1_6) && rc.sensePassability(l1_6)) {
+            if (v2_5 < v1_6) {
+                v1_6 = v2_5;
+                d1_6 = d2_5;
+            }
+            if (v2_6 < v1_6) {
+                v1_6 = v2_6;
+                d1_6 = d2_6;
+            }
+            if (v1_5 < v1_6) {
+                v1_6 = v1_5;
+                d1_6 = d1_5;
+            }
+            v1_6++;
+        }
+        MapLocation l2_1 = l4_4.translate(-2, -3);
+        int v2_1 = UNREACHABLE;
+        Direction d2_1 = null;
+        if (rc.canSenseLocation(l2_1) && rc.sensePassability(l2_1)) {
+            if (v3_2 < v2_1) {
+                v2_1 = v3_2;
+                d2_1 = d3_2;
+            }
+            if (v2_2 < v2_1) {
+                v2_1 = v2_2;
+                d2_1 = d2_2;
+            }
+            if (v3_1 < v2_1) {
+                v2_1 = v3_1;
+                d2_1 = d3_1;
+            }
+            if (v1_2 < v2_1) {
+                v2_1 = v1_2;
+                d2_1 = d1_2;
+            }
+            v2_1++;
+        }
+        MapLocation l2_7 = l4_4.translate(-2, 3);
+        int v2_7 = UNREACHABLE;
+        Direction d2_7 = null;
+        if (rc.canSenseLocation(l2_7) && rc.sensePassability(l2_7)) {
+            if (v3_6 < v2_7) {
+                v2_7 = v3_6;
+                d2_7 = d3_6;
+            }
+            if (v2_6 < v2_7) {
+                v2_7 = v2_6;
+                d2_7 = d2_6;
+            }
+            if (v3_7 < v2_7) {
+                v2_7 = v3_7;
+                d2_7 = d3_7;
+            }
+            if (v1_6 < v2_7) {
+                v2_7 = v1_6;
+                d2_7 = d1_6;
+            }
+            v2_7++;
+        }
+        MapLocation l6_1 = l4_4.translate(2, -3);
+        int v6_1 = UNREACHABLE;
+        Direction d6_1 = null;
+        if (rc.canSenseLocation(l6_1) && rc.sensePassability(l6_1)) {
+            if (v5_2 < v6_1) {
+                v6_1 = v5_2;
+                d6_1 = d5_2;
+            }
+            if (v6_2 < v6_1) {
+                v6_1 = v6_2;
+                d6_1 = d6_2;
+            }
+            if (v5_1 < v6_1) {
+                v6_1 = v5_1;
+                d6_1 = d5_1;
+            }
+            v6_1++;
+        }
+        MapLocation l6_7 = l4_4.translate(2, 3);
+        int v6_7 = UNREACHABLE;
+        Direction d6_7 = null;
+        if (rc.canSenseLocation(l6_7) && rc.sensePassability(l6_7)) {
+            if (v5_6 < v6_7) {
+                v6_7 = v5_6;
+                d6_7 = d5_6;
+            }
+            if (v6_6 < v6_7) {
+                v6_7 = v6_6;
+                d6_7 = d6_6;
+            }
+            if (v5_7 < v6_7) {
+                v6_7 = v5_7;
+                d6_7 = d5_7;
+            }
+            v6_7++;
+        }
+        MapLocation l7_2 = l4_4.translate(3, -2);
+        int v7_2 = UNREACHABLE;
+        Direction d7_2 = null;
+        if (rc.canSenseLocation(l7_2) && rc.sensePassability(l7_2)) {
+            if (v6_3 < v7_2) {
+                v7_2 = v6_3;
+                d7_2 = d6_3;
+            }
+            if (v6_2 < v7_2) {
+                v7_2 = v6_2;
+                d7_2 = d6_2;
+            }
+            if (v7_3 < v7_2) {
+                v7_2 = v7_3;
+                d7_2 = d7_3;
+            }
+            if (v6_1 < v7_2) {
+                v7_2 = v6_1;
+                d7_2 = d6_1;
+            }
+            v7_2++;
+        }
+        MapLocation l7_6 = l4_4.translate(3, 2);
+        int v7_6 = UNREACHABLE;
+        Direction d7_6 = null;
+        if (rc.canSenseLocation(l7_6) && rc.sensePassability(l7_6)) {
+            if (v6_5 < v7_6) {
+                v7_6 = v6_5;
+                d7_6 = d6_5;
+            }
+            if (v6_6 < v7_6) {
+                v7_6 = v6_6;
+                d7_6 = d6_6;
+            }
+            if (v7_5 < v7_6) {
+                v7_6 = v7_5;
+                d7_6 = d7_5;
+            }
+            if (v6_7 < v7_6) {
+                v7_6 = v6_7;
+                d7_6 = d6_7;
+            }
+            v7_6++;
+        }
+        MapLocation l0_4 = l4_4.translate(-4, 0);
+        int v0_4 = UNREACHABLE;
+        Direction d0_4 = null;
+        if (rc.canSenseLocation(l0_4) && rc.sensePassability(l0_4)) {
+            if (v1_4 < v0_4) {
+                v0_4 = v1_4;
+                d0_4 = d1_4;
+            }
+            if (v1_3 < v0_4) {
+                v0_4 = v1_3;
+                d0_4 = d1_3;
+            }
+            if (v1_5 < v0_4) {
+                v0_4 = v1_5;
+                d0_4 = d1_5;
+            }
+            v0_4++;
+        }
+        MapLocation l4_0 = l4_4.translate(0, -4);
+        int v4_0 = UNREACHABLE;
+        Direction d4_0 = null;
+        if (rc.canSenseLocation(l4_0) && rc.sensePassability(l4_0)) {
+            if (v4_1 < v4_0) {
+                v4_0 = v4_1;
+                d4_0 = d4_1;
+            }
+            if (v3_1 < v4_0) {
+                v4_0 = v3_1;
+                d4_0 = d3_1;
+            }
+            if (v5_1 < v4_0) {
+                v4_0 = v5_1;
+                d4_0 = d5_1;
+            }
+            v4_0++;
+        }
+        MapLocation l4_8 = l4_4.translate(0, 4);
+        int v4_8 = UNREACHABLE;
+        Direction d4_8 = null;
+        if (rc.canSenseLocation(l4_8) && rc.sensePassability(l4_8)) {
+            if (v4_7 < v4_8) {
+                v4_8 = v4_7;
+                d4_8 = d4_7;
+            }
+            if (v3_7 < v4_8) {
+                v4_8 = v3_7;
+                d4_8 = d3_7;
+            }
+            if (v5_7 < v4_8) {
+                v4_8 = v5_7;
+                d4_8 = d5_7;
+            }
+            v4_8++;
+        }
+        MapLocation l8_4 = l4_4.translate(4, 0);
+        int v8_4 = UNREACHABLE;
+        Direction d8_4 = null;
+        if (rc.canSenseLocation(l8_4) && rc.sensePassability(l8_4)) {
+            if (v7_4 < v8_4) {
+                v8_4 = v7_4;
+                d8_4 = d7_4;
+            }
+            if (v7_3 < v8_4) {
+                v8_4 = v7_3;
+                d8_4 = d7_3;
+            }
+            if (v7_5 < v8_4) {
+                v8_4 = v7_5;
+                d8_4 = d7_5;
+            }
+            v8_4++;
+        }
+        MapLocation l0_3 = l4_4.translate(-4, -1);
+        int v0_3 = UNREACHABLE;
+        Direction d0_3 = null;
+        if (rc.canSenseLocation(l0_3) && rc.sensePassability(l0_3)) {
+            if (v1_4 < v0_3) {
+                v0_3 = v1_4;
+                d0_3 = d1_4;
+            }
+            if (v1_3 < v0_3) {
+                v0_3 = v1_3;
+                d0_3 = d1_3;
+            }
+            if (v1_2 < v0_3) {
+                v0_3 = v1_2;
+                d0_3 = d1_2;
+            }
+            if (v0_4 < v0_3) {
+                v0_3 = v0_4;
+                d0_3 = d0_4;
+            }
+            v0_3++;
+        }
+        MapLocation l0_5 = l4_4.translate(-4, 1);
+        int v0_5 = UNREACHABLE;
+        Direction d0_5 = null;
+        if (rc.canSenseLocation(l0_5) && rc.sensePassability(l0_5)) {
+            if (v1_4 < v0_5) {
+                v0_5 = v1_4;
+                d0_5 = d1_4;
+            }
+            if (v1_5 < v0_5) {
+                v0_5 = v1_5;
+                d0_5 = d1_5;
+            }
+            if (v1_6 < v0_5) {
+                v0_5 = v1_6;
+                d0_5 = d1_6;
+            }
+            if (v0_4 < v0_5) {
+                v0_5 = v0_4;
+                d0_5 = d0_4;
+            }
+            v0_5++;
+        }
+        MapLocation l3_0 = l4_4.translate(-1, -4);
+        int v3_0 = UNREACHABLE;
+        Direction d3_0 = null;
+        if (rc.canSenseLocation(l3_0) && rc.sensePassability(l3_0)) {
+            if (v4_1 < v3_0) {
+                v3_0 = v4_1;
+                d3_0 = d4_1;
+            }
+            if (v3_1 < v3_0) {
+                v3_0 = v3_1;
+                d3_0 = d3_1;
+            }
+            if (v2_1 < v3_0) {
+                v3_0 = v2_1;
+                d3_0 = d2_1;
+            }
+            if (v4_0 < v3_0) {
+                v3_0 = v4_0;
+                d3_0 = d4_0;
+            }
+            v3_0++;
+        }
+        MapLocation l3_8 = l4_4.translate(-1, 4);
+        int v3_8 = UNREACHABLE;
+        Direction d3_8 = null;
+        if (rc.canSenseLocation(l3_8) && rc.sensePassability(l3_8)) {
+            if (v4_7 < v3_8) {
+                v3_8 = v4_7;
+                d3_8 = d4_7;
+            }
+            if (v3_7 < v3_8) {
+                v3_8 = v3_7;
+                d3_8 = d3_7;
+            }
+            if (v2_7 < v3_8) {
+                v3_8 = v2_7;
+                d3_8 = d2_7;
+            }
+            if (v4_8 < v3_8) {
+                v3_8 = v4_8;
+                d3_8 = d4_8;
+            }
+            v3_8++;
+        }
+        MapLocation l5_0 = l4_4.translate(1, -4);
+        int v5_0 = UNREACHABLE;
+        Direction d5_0 = null;
+        if (rc.canSenseLocation(l5_0) && rc.sensePassability(l5_0)) {
+            if (v4_1 < v5_0) {
+                v5_0 = v4_1;
+                d5_0 = d4_1;
+            }
+            if (v5_1 < v5_0) {
+                v5_0 = v5_1;
+                d5_0 = d5_1;
+            }
+            if (v6_1 < v5_0) {
+                v5_0 = v6_1;
+                d5_0 = d6_1;
+            }
+            if (v4_0 < v5_0) {
+                v5_0 = v4_0;
+                d5_0 = d4_0;
+            }
+            v5_0++;
+        }
+        MapLocation l5_8 = l4_4.translate(1, 4);
+        int v5_8 = UNREACHABLE;
+        Direction d5_8 = null;
+        if (rc.canSenseLocation(l5_8) && rc.sensePassability(l5_8)) {
+            if (v4_7 < v5_8) {
+                v5_8 = v4_7;
+                d5_8 = d4_7;
+            }
+            if (v5_7 < v5_8) {
+                v5_8 = v5_7;
+                d5_8 = d5_7;
+            }
+            if (v6_7 < v5_8) {
+                v5_8 = v6_7;
+                d5_8 = d6_7;
+            }
+            if (v4_8 < v5_8) {
+                v5_8 = v4_8;
+                d5_8 = d4_8;
+            }
+            v5_8++;
+        }
+        MapLocation l8_3 = l4_4.translate(4, -1);
+        int v8_3 = UNREACHABLE;
+        Direction d8_3 = null;
+        if (rc.canSenseLocation(l8_3) && rc.sensePassability(l8_3)) {
+            if (v7_4 < v8_3) {
+                v8_3 = v7_4;
+                d8_3 = d7_4;
+            }
+            if (v7_3 < v8_3) {
+                v8_3 = v7_3;
+                d8_3 = d7_3;
+            }
+            if (v7_2 < v8_3) {
+                v8_3 = v7_2;
+                d8_3 = d7_2;
+            }
+            if (v8_4 < v8_3) {
+                v8_3 = v8_4;
+                d8_3 = d8_4;
+            }
+            v8_3++;
+        }
+        MapLocation l8_5 = l4_4.translate(4, 1);
+        int v8_5 = UNREACHABLE;
+        Direction d8_5 = null;
+        if (rc.canSenseLocation(l8_5) && rc.sensePassability(l8_5)) {
+            if (v7_4 < v8_5) {
+                v8_5 = v7_4;
+                d8_5 = d7_4;
+            }
+            if (v7_5 < v8_5) {
+                v8_5 = v7_5;
+                d8_5 = d7_5;
+            }
+            if (v7_6 < v8_5) {
+                v8_5 = v7_6;
+                d8_5 = d7_6;
+            }
+            if (v8_4 < v8_5) {
+                v8_5 = v8_4;
+                d8_5 = d8_4;
+            }
+            v8_5++;
+        }
+        MapLocation l1_1 = l4_4.translate(-3, -3);
+        int v1_1 = UNREACHABLE;
+        Direction d1_1 = null;
+        if (rc.canSenseLocation(l1_1) && rc.sensePassability(l1_1)) {
+            if (v2_2 < v1_1) {
+                v1_1 = v2_2;
+                d1_1 = d2_2;
+            }
+            if (v1_2 < v1_1) {
+                v1_1 = v1_2;
+                d1_1 = d1_2;
+            }
+            if (v2_1 < v1_1) {
+                v1_1 = v2_1;
+                d1_1 = d2_1;
+            }
+            v1_1++;
+        }
+        MapLocation l1_7 = l4_4.translate(-3, 3);
+        int v1_7 = UNREACHABLE;
+        Direction d1_7 = null;
+        if (rc.canSenseLocation(l1_7) && rc.sensePassability(l1_7)) {
+            if (v2_6 < v1_7) {
+                v1_7 = v2_6;
+                d1_7 = d2_6;
+            }
+            if (v1_6 < v1_7) {
+                v1_7 = v1_6;
+                d1_7 = d1_6;
+            }
+            if (v2_7 < v1_7) {
+                v1_7 = v2_7;
+                d1_7 = d2_7;
+            }
+            v1_7++;
+        }
+        MapLocation l7_1 = l4_4.translate(3, -3);
+        int v7_1 = UNREACHABLE;
+        Direction d7_1 = null;
+        if (rc.canSenseLocation(l7_1) && rc.sensePassability(l7_1)) {
+            if (v6_2 < v7_1) {
+                v7_1 = v6_2;
+                d7_1 = d6_2;
+            }
+            if (v6_1 < v7_1) {
+                v7_1 = v6_1;
+                d7_1 = d6_1;
+            }
+            if (v7_2 < v7_1) {
+                v7_1 = v7_2;
+                d7_1 = d7_2;
+            }
+            v7_1++;
+        }
+        MapLocation l7_7 = l4_4.translate(3, 3);
+        int v7_7 = UNREACHABLE;
+        Direction d7_7 = null;
+        if (rc.canSenseLocation(l7_7) && rc.sensePassability(l7_7)) {
+            if (v6_6 < v7_7) {
+                v7_7 = v6_6;
+                d7_7 = d6_6;
+            }
+            if (v6_7 < v7_7) {
+                v7_7 = v6_7;
+                d7_7 = d6_7;
+            }
+            if (v7_6 < v7_7) {
+                v7_7 = v7_6;
+                d7_7 = d7_6;
+            }
+            v7_7++;
+        }
+        MapLocation l0_2 = l4_4.translate(-4, -2);
+        int v0_2 = UNREACHABLE;
+        Direction d0_2 = null;
+        if (rc.canSenseLocation(l0_2) && rc.sensePassability(l0_2)) {
+            if (v1_3 < v0_2) {
+                v0_2 = v1_3;
+                d0_2 = d1_3;
+            }
+            if (v1_2 < v0_2) {
+                v0_2 = v1_2;
+                d0_2 = d1_2;
+            }
+            if (v0_3 < v0_2) {
+                v0_2 = v0_3;
+                d0_2 = d0_3;
+            }
+            if (v1_1 < v0_2) {
+                v0_2 = v1_1;
+                d0_2 = d1_1;
+            }
+            v0_2++;
+        }
+        MapLocation l0_6 = l4_4.translate(-4, 2);
+        int v0_6 = UNREACHABLE;
+        Direction d0_6 = null;
+        if (rc.canSenseLocation(l0_6) && rc.sensePassability(l0_6)) {
+            if (v1_5 < v0_6) {
+                v0_6 = v1_5;
+                d0_6 = d1_5;
+            }
+            if (v1_6 < v0_6) {
+                v0_6 = v1_6;
+                d0_6 = d1_6;
+            }
+            if (v0_5 < v0_6) {
+                v0_6 = v0_5;
+                d0_6 = d0_5;
+            }
+            if (v1_7 < v0_6) {
+                v0_6 = v1_7;
+                d0_6 = d1_7;
+            }
+            v0_6++;
+        }
+        MapLocation l2_0 = l4_4.translate(-2, -4);
+        int v2_0 = UNREACHABLE;
+        Direction d2_0 = null;
+        if (rc.canSenseLocation(l2_0) && rc.sensePassability(l2_0)) {
+            if (v3_1 < v2_0) {
+                v2_0 = v3_1;
+                d2_0 = d3_1;
+            }
+            if (v2_1 < v2_0) {
+                v2_0 = v2_1;
+                d2_0 = d2_1;
+            }
+            if (v3_0 < v2_0) {
+                v2_0 = v3_0;
+                d2_0 = d3_0;
+            }
+            if (v1_1 < v2_0) {
+                v2_0 = v1_1;
+                d2_0 = d1_1;
+            }
+            v2_0++;
+        }
+        MapLocation l2_8 = l4_4.translate(-2, 4);
+        int v2_8 = UNREACHABLE;
+        Direction d2_8 = null;
+        if (rc.canSenseLocation(l2_8) && rc.sensePassability(l2_8)) {
+            if (v3_7 < v2_8) {
+                v2_8 = v3_7;
+                d2_8 = d3_7;
+            }
+            if (v2_7 < v2_8) {
+                v2_8 = v2_7;
+                d2_8 = d2_7;
+            }
+            if (v3_8 < v2_8) {
+                v2_8 = v3_8;
+                d2_8 = d3_8;
+            }
+            if (v1_7 < v2_8) {
+                v2_8 = v1_7;
+                d2_8 = d1_7;
+            }
+            v2_8++;
+        }
+        MapLocation l6_0 = l4_4.translate(2, -4);
+        int v6_0 = UNREACHABLE;
+        Direction d6_0 = null;
+        if (rc.canSenseLocation(l6_0) && rc.sensePassability(l6_0)) {
+            if (v5_1 < v6_0) {
+                v6_0 = v5_1;
+                d6_0 = d5_1;
+            }
+            if (v6_1 < v6_0) {
+                v6_0 = v6_1;
+                d6_0 = d6_1;
+            }
+            if (v5_0 < v6_0) {
+                v6_0 = v5_0;
+                d6_0 = d5_0;
+            }
+            if (v7_1 < v6_0) {
+                v6_0 = v7_1;
+                d6_0 = d7_1;
+            }
+            v6_0++;
+        }
+        MapLocation l6_8 = l4_4.translate(2, 4);
+        int v6_8 = UNREACHABLE;
+        Direction d6_8 = null;
+        if (rc.canSenseLocation(l6_8) && rc.sensePassability(l6_8)) {
+            if (v5_7 < v6_8) {
+                v6_8 = v5_7;
+                d6_8 = d5_7;
+            }
+            if (v6_7 < v6_8) {
+                v6_8 = v6_7;
+                d6_8 = d6_7;
+            }
+            if (v5_8 < v6_8) {
+                v6_8 = v5_8;
+                d6_8 = d5_8;
+            }
+            if (v7_7 < v6_8) {
+                v6_8 = v7_7;
+                d6_8 = d7_7;
+            }
+            v6_8++;
+        }
+        MapLocation l8_2 = l4_4.translate(4, -2);
+        int v8_2 = UNREACHABLE;
+        Direction d8_2 = null;
+        if (rc.canSenseLocation(l8_2) && rc.sensePassability(l8_2)) {
+            if (v7_3 < v8_2) {
+                v8_2 = v7_3;
+                d8_2 = d7_3;
+            }
+            if (v7_2 < v8_2) {
+                v8_2 = v7_2;
+                d8_2 = d7_2;
+            }
+            if (v8_3 < v8_2) {
+                v8_2 = v8_3;
+                d8_2 = d8_3;
+            }
+            if (v7_1 < v8_2) {
+                v8_2 = v7_1;
+                d8_2 = d7_1;
+            }
+            v8_2++;
+        }
+        MapLocation l8_6 = l4_4.translate(4, 2);
+        int v8_6 = UNREACHABLE;
+        Direction d8_6 = null;
+        if (rc.canSenseLocation(l8_6) && rc.sensePassability(l8_6)) {
+            if (v7_5 < v8_6) {
+                v8_6 = v7_5;
+                d8_6 = d7_5;
+            }
+            if (v7_6 < v8_6) {
+                v8_6 = v7_6;
+                d8_6 = d7_6;
+            }
+            if (v8_5 < v8_6) {
+                v8_6 = v8_5;
+                d8_6 = d8_5;
+            }
+            if (v7_7 < v8_6) {
+                v8_6 = v7_7;
+                d8_6 = d7_7;
+            }
+            v8_6++;
+        }
+
+        int tdx = target.x - l4_4.x;
+        int tdy = target.y - l4_4.y;
+        if (tdx * tdx + tdy * tdy <= RADIUS_SQUARED) {
+            switch ((tdx + 4) * 9 + (tdy + 4)) {
+                case 31:
+                    if (v3_4 < UNREACHABLE) return d3_4;
+                    break;
+                case 39:
+                    if (v4_3 < UNREACHABLE) return d4_3;
+                    break;
+                case 41:
+                    if (v4_5 < UNREACHABLE) return d4_5;
+                    break;
+                case 49:
+                    if (v5_4 < UNREACHABLE) return d5_4;
+                    break;
+                case 30:
+                    if (v3_3 < UNREACHABLE) return d3_3;
+                    break;
+                case 32:
+                    if (v3_5 < UNREACHABLE) return d3_5;
+                    break;
+                case 48:
+                    if (v5_3 < UNREACHABLE) return d5_3;
+                    break;
+                case 50:
+                    if (v5_5 < UNREACHABLE) return d5_5;
+                    break;
+                case 22:
+                    if (v2_4 < UNREACHABLE) return d2_4;
+                    break;
+                case 38:
+                    if (v4_2 < UNREACHABLE) return d4_2;
+                    break;
+                case 42:
+                    if (v4_6 < UNREACHABLE) return d4_6;
+                    break;
+                case 58:
+                    if (v6_4 < UNREACHABLE) return d6_4;
+                    break;
+                case 21:
+                    if (v2_3 < UNREACHABLE) return d2_3;
+                    break;
+                case 23:
+                    if (v2_5 < UNREACHABLE) return d2_5;
+                    break;
+                case 29:
+                    if (v3_2 < UNREACHABLE) return d3_2;
+                    break;
+                case 33:
+                    if (v3_6 < UNREACHABLE) return d3_6;
+                    break;
+                case 47:
+                    if (v5_2 < UNREACHABLE) return d5_2;
+                    break;
+                case 51:
+                    if (v5_6 < UNREACHABLE) return d5_6;
+                    break;
+                case 57:
+                    if (v6_3 < UNREACHABLE) return d6_3;
+                    break;
+                case 59:
+                    if (v6_5 < UNREACHABLE) return d6_5;
+                    break;
+                case 20:
+                    if (v2_2 < UNREACHABLE) return d2_2;
+                    break;
+                case 24:
+                    if (v2_6 < UNREACHABLE) return d2_6;
+                    break;
+                case 56:
+                    if (v6_2 < UNREACHABLE) return d6_2;
+                    break;
+                case 60:
+                    if (v6_6 < UNREACHABLE) return d6_6;
+                    break;
+                case 13:
+                    if (v1_4 < UNREACHABLE) return d1_4;
+                    break;
+                case 37:
+                    if (v4_1 < UNREACHABLE) return d4_1;
+                    break;
+                case 43:
+                    if (v4_7 < UNREACHABLE) return d4_7;
+                    break;
+                case 67:
+                    if (v7_4 < UNREACHABLE) return d7_4;
+                    break;
+                case 12:
+                    if (v1_3 < UNREACHABLE) return d1_3;
+                    break;
+                case 14:
+                    if (v1_5 < UNREACHABLE) return d1_5;
+                    break;
+                case 28:
+                    if (v3_1 < UNREACHABLE) return d3_1;
+                    break;
+                case 34:
+                    if (v3_7 < UNREACHABLE) return d3_7;
+                    break;
+                case 46:
+                    if (v5_1 < UNREACHABLE) return d5_1;
+                    break;
+                case 52:
+                    if (v5_7 < UNREACHABLE) return d5_7;
+                    break;
+                case 66:
+                    if (v7_3 < UNREACHABLE) return d7_3;
+                    break;
+                case 68:
+                    if (v7_5 < UNREACHABLE) return d7_5;
+                    break;
+                case 11:
+                    if (v1_2 < UNREACHABLE) return d1_2;
+                    break;
+                case 15:
+                    if (v1_6 < UNREACHABLE) return d1_6;
+                    break;
+                case 19:
+                    if (v2_1 < UNREACHABLE) return d2_1;
+                    break;
+                case 25:
+                    if (v2_7 < UNREACHABLE) return d2_7;
+                    break;
+                case 55:
+                    if (v6_1 < UNREACHABLE) return d6_1;
+                    break;
+                case 61:
+                    if (v6_7 < UNREACHABLE) return d6_7;
+                    break;
+                case 65:
+                    if (v7_2 < UNREACHABLE) return d7_2;
+                    break;
+                case 69:
+                    if (v7_6 < UNREACHABLE) return d7_6;
+                    break;
+                case 4:
+                    if (v0_4 < UNREACHABLE) return d0_4;
+                    break;
+                case 36:
+                    if (v4_0 < UNREACHABLE) return d4_0;
+                    break;
+                case 44:
+                    if (v4_8 < UNREACHABLE) return d4_8;
+                    break;
+                case 76:
+                    if (v8_4 < UNREACHABLE) return d8_4;
+                    break;
+                case 3:
+                    if (v0_3 < UNREACHABLE) return d0_3;
+                    break;
+                case 5:
+                    if (v0_5 < UNREACHABLE) return d0_5;
+                    break;
+                case 27:
+                    if (v3_0 < UNREACHABLE) return d3_0;
+                    break;
+                case 35:
+                    if (v3_8 < UNREACHABLE) return d3_8;
+                    break;
+                case 45:
+                    if (v5_0 < UNREACHABLE) return d5_0;
+                    break;
+                case 53:
+                    if (v5_8 < UNREACHABLE) return d5_8;
+                    break;
+                case 75:
+                    if (v8_3 < UNREACHABLE) return d8_3;
+                    break;
+                case 77:
+                    if (v8_5 < UNREACHABLE) return d8_5;
+                    break;
+                case 10:
+                    if (v1_1 < UNREACHABLE) return d1_1;
+                    break;
+                case 16:
+                    if (v1_7 < UNREACHABLE) return d1_7;
+                    break;
+                case 64:
+                    if (v7_1 < UNREACHABLE) return d7_1;
+                    break;
+                case 70:
+                    if (v7_7 < UNREACHABLE) return d7_7;
+                    break;
+                case 2:
+                    if (v0_2 < UNREACHABLE) return d0_2;
+                    break;
+                case 6:
+                    if (v0_6 < UNREACHABLE) return d0_6;
+                    break;
+                case 18:
+                    if (v2_0 < UNREACHABLE) return d2_0;
+                    break;
+                case 26:
+                    if (v2_8 < UNREACHABLE) return d2_8;
+                    break;
+                case 54:
+                    if (v6_0 < UNREACHABLE) return d6_0;
+                    break;
+                case 62:
+                    if (v6_8 < UNREACHABLE) return d6_8;
+                    break;
+                case 74:
+                    if (v8_2 < UNREACHABLE) return d8_2;
+                    break;
+                case 78:
+                    if (v8_6 < UNREACHABLE) return d8_6;
+                    break;
+                default:
+                    return null; // we're on it.
+            }
+        }
+
+        Direction best = null;
+        int bestScore = UNREACHABLE;
+        int a;
+        int b;
+        if (v1_2 < bestScore) {
+            a = tdx - (-3);
+            if (a < 0) a = -a;
+            b = tdy - (-2);
+            if (b < 0) b = -b;
+            a = v1_2 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d1_2;
+            }
+        }
+        if (v1_6 < bestScore) {
+            a = tdx - (-3);
+            if (a < 0) a = -a;
+            b = tdy - 2;
+            if (b < 0) b = -b;
+            a = v1_6 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d1_6;
+            }
+        }
+        if (v2_1 < bestScore) {
+            a = tdx - (-2);
+            if (a < 0) a = -a;
+            b = tdy - (-3);
+            if (b < 0) b = -b;
+            a = v2_1 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d2_1;
+            }
+        }
+        if (v2_7 < bestScore) {
+            a = tdx - (-2);
+            if (a < 0) a = -a;
+            b = tdy - 3;
+            if (b < 0) b = -b;
+            a = v2_7 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d2_7;
+            }
+        }
+        if (v6_1 < bestScore) {
+            a = tdx - 2;
+            if (a < 0) a = -a;
+            b = tdy - (-3);
+            if (b < 0) b = -b;
+            a = v6_1 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d6_1;
+            }
+        }
+        if (v6_7 < bestScore) {
+            a = tdx - 2;
+            if (a < 0) a = -a;
+            b = tdy - 3;
+            if (b < 0) b = -b;
+            a = v6_7 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d6_7;
+            }
+        }
+        if (v7_2 < bestScore) {
+            a = tdx - 3;
+            if (a < 0) a = -a;
+            b = tdy - (-2);
+            if (b < 0) b = -b;
+            a = v7_2 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d7_2;
+            }
+        }
+        if (v7_6 < bestScore) {
+            a = tdx - 3;
+            if (a < 0) a = -a;
+            b = tdy - 2;
+            if (b < 0) b = -b;
+            a = v7_6 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d7_6;
+            }
+        }
+        if (v0_4 < bestScore) {
+            a = tdx - (-4);
+            if (a < 0) a = -a;
+            b = tdy - 0;
+            if (b < 0) b = -b;
+            a = v0_4 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d0_4;
+            }
+        }
+        if (v4_0 < bestScore) {
+            a = tdx - 0;
+            if (a < 0) a = -a;
+            b = tdy - (-4);
+            if (b < 0) b = -b;
+            a = v4_0 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d4_0;
+            }
+        }
+        if (v4_8 < bestScore) {
+            a = tdx - 0;
+            if (a < 0) a = -a;
+            b = tdy - 4;
+            if (b < 0) b = -b;
+            a = v4_8 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d4_8;
+            }
+        }
+        if (v8_4 < bestScore) {
+            a = tdx - 4;
+            if (a < 0) a = -a;
+            b = tdy - 0;
+            if (b < 0) b = -b;
+            a = v8_4 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d8_4;
+            }
+        }
+        if (v0_3 < bestScore) {
+            a = tdx - (-4);
+            if (a < 0) a = -a;
+            b = tdy - (-1);
+            if (b < 0) b = -b;
+            a = v0_3 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d0_3;
+            }
+        }
+        if (v0_5 < bestScore) {
+            a = tdx - (-4);
+            if (a < 0) a = -a;
+            b = tdy - 1;
+            if (b < 0) b = -b;
+            a = v0_5 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d0_5;
+            }
+        }
+        if (v3_0 < bestScore) {
+            a = tdx - (-1);
+            if (a < 0) a = -a;
+            b = tdy - (-4);
+            if (b < 0) b = -b;
+            a = v3_0 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d3_0;
+            }
+        }
+        if (v3_8 < bestScore) {
+            a = tdx - (-1);
+            if (a < 0) a = -a;
+            b = tdy - 4;
+            if (b < 0) b = -b;
+            a = v3_8 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d3_8;
+            }
+        }
+        if (v5_0 < bestScore) {
+            a = tdx - 1;
+            if (a < 0) a = -a;
+            b = tdy - (-4);
+            if (b < 0) b = -b;
+            a = v5_0 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d5_0;
+            }
+        }
+        if (v5_8 < bestScore) {
+            a = tdx - 1;
+            if (a < 0) a = -a;
+            b = tdy - 4;
+            if (b < 0) b = -b;
+            a = v5_8 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d5_8;
+            }
+        }
+        if (v8_3 < bestScore) {
+            a = tdx - 4;
+            if (a < 0) a = -a;
+            b = tdy - (-1);
+            if (b < 0) b = -b;
+            a = v8_3 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d8_3;
+            }
+        }
+        if (v8_5 < bestScore) {
+            a = tdx - 4;
+            if (a < 0) a = -a;
+            b = tdy - 1;
+            if (b < 0) b = -b;
+            a = v8_5 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d8_5;
+            }
+        }
+        if (v1_1 < bestScore) {
+            a = tdx - (-3);
+            if (a < 0) a = -a;
+            b = tdy - (-3);
+            if (b < 0) b = -b;
+            a = v1_1 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d1_1;
+            }
+        }
+        if (v1_7 < bestScore) {
+            a = tdx - (-3);
+            if (a < 0) a = -a;
+            b = tdy - 3;
+            if (b < 0) b = -b;
+            a = v1_7 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d1_7;
+            }
+        }
+        if (v7_1 < bestScore) {
+            a = tdx - 3;
+            if (a < 0) a = -a;
+            b = tdy - (-3);
+            if (b < 0) b = -b;
+            a = v7_1 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d7_1;
+            }
+        }
+        if (v7_7 < bestScore) {
+            a = tdx - 3;
+            if (a < 0) a = -a;
+            b = tdy - 3;
+            if (b < 0) b = -b;
+            a = v7_7 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d7_7;
+            }
+        }
+        if (v0_2 < bestScore) {
+            a = tdx - (-4);
+            if (a < 0) a = -a;
+            b = tdy - (-2);
+            if (b < 0) b = -b;
+            a = v0_2 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d0_2;
+            }
+        }
+        if (v0_6 < bestScore) {
+            a = tdx - (-4);
+            if (a < 0) a = -a;
+            b = tdy - 2;
+            if (b < 0) b = -b;
+            a = v0_6 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d0_6;
+            }
+        }
+        if (v2_0 < bestScore) {
+            a = tdx - (-2);
+            if (a < 0) a = -a;
+            b = tdy - (-4);
+            if (b < 0) b = -b;
+            a = v2_0 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d2_0;
+            }
+        }
+        if (v2_8 < bestScore) {
+            a = tdx - (-2);
+            if (a < 0) a = -a;
+            b = tdy - 4;
+            if (b < 0) b = -b;
+            a = v2_8 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d2_8;
+            }
+        }
+        if (v6_0 < bestScore) {
+            a = tdx - 2;
+            if (a < 0) a = -a;
+            b = tdy - (-4);
+            if (b < 0) b = -b;
+            a = v6_0 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d6_0;
+            }
+        }
+        if (v6_8 < bestScore) {
+            a = tdx - 2;
+            if (a < 0) a = -a;
+            b = tdy - 4;
+            if (b < 0) b = -b;
+            a = v6_8 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d6_8;
+            }
+        }
+        if (v8_2 < bestScore) {
+            a = tdx - 4;
+            if (a < 0) a = -a;
+            b = tdy - (-2);
+            if (b < 0) b = -b;
+            a = v8_2 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d8_2;
+            }
+        }
+        if (v8_6 < bestScore) {
+            a = tdx - 4;
+            if (a < 0) a = -a;
+            b = tdy - 2;
+            if (b < 0) b = -b;
+            a = v8_6 + (a > b ? a : b);
+            if (a < bestScore) {
+                bestScore = a;
+                best = d8_6;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,69 @@
+package bobby;
+
+import battlecode.common.GameConstants;
+import battlecode.common.MapLocation;
+
+/**
+ * Set of visited tiles, with a per-tile visit counter. Every operation is constant bytecode and
+ * nothing is allocated after construction.
+ *
+ * Clearing is O(1): instead of zeroing the arrays, we bump the epoch, and any word/counter stamped
+ * with an older epoch reads as empty.
+ */
+public class Visited {
+
+    static final int WIDTH = GameConstants.MAP_MAX_HEIGHT; // index = x * WIDTH + y
+    static final int NUM_TILES = GameConstants.MAP_MAX_WIDTH * GameConstants.MAP_MAX_HEIGHT; // 3600
+    static final int NUM_WORDS = (NUM_TILES + 63) >> 6;
+
+    static final int COUNT_BITS = 8;
+    static final int COUNT_MASK = (1 << COUNT_BITS) - 1;
+
+    private final long[] bits = new long[NUM_WORDS];
+    private final int[] wordEpochs = new int[NUM_WORDS];
+    private final int[] counts = new int[NUM_TILES]; // (epoch << COUNT_BITS) | count
+    private int epoch = 1;
+
+    void clear() {
+        epoch++;
+    }
+
+    boolean contains(MapLocation loc) {
+        int i = loc.x * WIDTH + loc.y;
+        int w = i >> 6;
+        return wordEpochs[w] == epoch && (bits[w] & (1L << i)) != 0;
+    }
+
+    // Returns true if loc wasn't in the set already.
+    boolean add(MapLocation loc) {
+        int i = loc.x * WIDTH + loc.y;
+        int w = i >> 6;
+        if (wordEpochs[w] != epoch) {
+            wordEpochs[w] = epoch;
+            bits[w] = 1L << i;
+            return true;
+        }
+        long before = bits[w];
+        bits[w] = before | (1L << i);
+        return (before & (1L << i)) == 0;
+    }
+
+    // Adds loc to the set and returns how many times it has been visited (including this time).
+    // Saturates at COUNT_MASK.
+    int visit(MapLocation loc) {
+        add(loc);
+        int i = loc.x * WIDTH + loc.y;
+        int stamped = counts[i];
+        int count = (stamped >> COUNT_BITS) == epoch ? (stamped & COUNT_MASK) + 1 : 1;
+        if (count > COUNT_MASK) {
+            count = COUNT_MASK;
+        }
+        counts[i] = (epoch << COUNT_BITS) | count;
+        return count;
+    }
+
+    int count(MapLocation loc) {
+        int stamped = counts[loc.x * WIDTH + loc.y];
+        return (stamped >> COUNT_BITS) == epoch ? stamped & COUNT_MASK : 0;
+    }
+}
@@ -0,0 +1,284 @@
+package bobby;
+
+import battlecode.common.Clock;
+import battlecode.common.Direction;
+import battlecode.common.GameActionException;
+import battlecode.common.GameConstants;
+import battlecode.common.MapInfo;
+import battlecode.common.MapLocation;
+import battlecode.common.ResourceType;
+import battlecode.common.RobotController;
+import battlecode.common.WellInfo;
+
+/**
+ * Everything this robot has ever sensed about the terrain, in flat primitive arrays indexed by
+ * Memory.encodeMapLocation (i.e. ((x + 1) << 6) + (y + 1), always < 4096).
+ *
+ * Terrain (walls, clouds, currents, wells, islands) never changes during a game, so a tile only
+ * needs to be sensed once. Queries are O(1) and don't allocate.
+ *
+ * Once the map symmetry is known, every tile we sense also tells us about its mirror tile, so we
+ * fill that in too (see setSymmetry).
+ */
+public class WorldMap {
+
+    static final int SIZE = 1 << 12;
+
+    // Tile layout: [mirrored: 1][island id: 6][well resource: 2][current dir: 4][cloud: 1][wall: 1][known: 1]
+    static final int KNOWN = 1;
+    static final int WALL = 1 << 1;
+    static final int CLOUD = 1 << 2;
+    static final int CURRENT_SHIFT = 3; // Direction ordinal (CENTER if there's no current).
+    static final int CURRENT_MASK = 0b1111 << CURRENT_SHIFT;
+    static final int NO_CURRENT = Direction.CENTER.ordinal() << CURRENT_SHIFT;
+    static final int WELL_SHIFT = 7; // ResourceType ordinal (NO_RESOURCE if there's no well).
+    static final int WELL_MASK = 0b11 << WELL_SHIFT;
+    static final int ISLAND_SHIFT = 9; // island id (0 if not an island).
+    static final int ISLAND_MASK = 0b111111 << ISLAND_SHIFT;
+    static final int MIRRORED = 1 << 15; // inferred from the mirror tile rather than sensed.
+
+    static final Direction[] DIRECTIONS = Direction.values();
+    static final ResourceType[] RESOURCES = ResourceType.values();
+
+    static final int[] tiles = new int[SIZE];
+    static final long[] known = new long[SIZE >> 6]; // 1 bit per tile, to scan for unknown areas quickly.
+    static int numKnown = 0;
+    static int version = 1; // bumped whenever new tiles come into view.
+
+    private static MapLocation lastSensedFrom = null;
+
+    // Mirror transform: mirror(idx) = mirrorOffset + mirrorX * (idx & ~63) + mirrorY * (idx & 63),
+    // with mirrorX/mirrorY = -1 on the flipped axes. Only valid if symmetric.
+    static boolean symmetric = false;
+    private static int mirrorOffset;
+    private static int mirrorX;
+    private static int mirrorY;
+    private static final int[] mirroredCurrents = new int[DIRECTIONS.length]; // tile current bits -> mirrored.
+    private static int backfillWord = 0; // tiles known before the symmetry was, still to be mirrored.
+    static final int BACKFILL_SAFETY_MARGIN = 2000;
+
+    static final int MAX_MIRRORED_WELLS = 32;
+    static final int[] mirroredWells = new int[MAX_MIRRORED_WELLS];
+    static int numMirroredWells = 0;
+    // Mirror of one tile of each island we've seen, by island id (0 if none). The mirror island has
+    // a different id, which we don't know.
+    static final int[] mirroredIslands = new int[GameConstants.MAX_NUMBER_ISLANDS + 1];
+
+    static int index(int x, int y) {
+        return ((x + 1) << 6) + (y + 1); // same as Memory.encodeMapLocation, without the allocation.
+    }
+
+    static int index(MapLocation loc) {
+        return ((loc.x + 1) << 6) + (loc.y + 1);
+    }
+
+    // Senses every tile in view that we haven't seen before, and mirrors older tiles once the
+    // symmetry is known. Cheap to call every turn: it only senses if we moved since the last call,
+    // but it keeps backfilling even if we never move (HQs).
+    static void update(RobotController rc) throws GameActionException {
+        int knownBefore = numKnown;
+        MapLocation here = rc.getLocation();
+        if (!here.equals(lastSensedFrom)) {
+            lastSensedFrom = here;
+            sense(rc);
+        }
+        if (symmetric && backfillWord < known.length) {
+            backfill();
+        }
+        if (numKnown != knownBefore) {
+            version++;
+        }
+    }
+
+    private static void sense(RobotController rc) throws GameActionException {
+        MapInfo[] infos = rc.senseNearbyMapInfos();
+        for (int i = infos.length; --i >= 0; ) {
+            MapInfo info = infos[i];
+            MapLocation loc = info.getMapLocation();
+            int idx = ((loc.x + 1) << 6) + (loc.y + 1);
+            if ((tiles[idx] & KNOWN) != 0) {
+                continue;
+            }
+            int tile = tiles[idx] | KNOWN | (info.getCurrentDirection().ordinal() << CURRENT_SHIFT);
+            if (!info.isPassable()) {
+                tile |= WALL;
+            }
+            if (info.hasCloud()) {
+                tile |= CLOUD;
+            }
+            tiles[idx] = tile;
+            known[idx >> 6] |= 1L << idx;
+            numKnown++;
+            if (symmetric) {
+                mirror(idx);
+            }
+        }
+    }
+
+    static void recordWells(WellInfo[] wells) {
+        for (int i = wells.length; --i >= 0; ) {
+            MapLocation loc = wells[i].getMapLocation();
+            int idx = ((loc.x + 1) << 6) + (loc.y + 1);
+            tiles[idx] = (tiles[idx] & ~WELL_MASK) | (wells[i].getResourceType().ordinal() << WELL_SHIFT);
+            if (symmetric) {
+                mirrorWell(idx);
+            }
+        }
+    }
+
+    // SYMMETRY
+
+    // Starts mirroring observations. Tiles we already knew get mirrored a few words at a time, on
+    // later calls to update(). Does nothing if the symmetry can't be used.
+    static void setSymmetry(RobotController rc, Mapping.Symmetry sym) {
+        setSymmetry(rc.getMapWidth(), rc.getMapHeight(), sym);
+    }
+
+    static void setSymmetry(int width, int height, Mapping.Symmetry sym) {
+        if (symmetric || sym == null || sym == Mapping.Symmetry.NOT_DECIPHERABLE_WITH_HQS_ALONE) {
+            return;
+        }
+        boolean flipX = sym != Mapping.Symmetry.HORIZONTAL;
+        boolean flipY = sym != Mapping.Symmetry.VERTICAL;
+        // x + 1 -> (width + 1) - (x + 1), and same for y.
+        mirrorOffset = (flipX ? (width + 1) << 6 : 0) + (flipY ? height + 1 : 0);
+        mirrorX = flipX ? -1 : 1;
+        mirrorY = flipY ? -1 : 1;
+        for (int d = DIRECTIONS.length; --d >= 0; ) {
+            Direction dir = DIRECTIONS[d];
+            Direction mirrored = dir;
+            for (int m = DIRECTIONS.length; --m >= 0; ) {
+                if (DIRECTIONS[m].dx == dir.dx * mirrorX && DIRECTIONS[m].dy == dir.dy * mirrorY) {
+                    mirrored = DIRECTIONS[m];
+                }
+            }
+            mirroredCurrents[d] = mirrored.ordinal() << CURRENT_SHIFT;
+        }
+        backfillWord = 0;
+        symmetric = true;
+    }
+
+    static int mirrorIndex(int idx) {
+        return mirrorOffset + mirrorX * (idx & ~0b111111) + mirrorY * (idx & 0b111111);
+    }
+
+    // Copies what we know about idx onto its mirror tile, unless we already know that one.
+    // Island ids aren't symmetric, so those are not mirrored.
+    static void mirror(int idx) {
+        int m = mirrorOffset + mirrorX * (idx & ~0b111111) + mirrorY * (idx & 0b111111);
+        if ((tiles[m] & KNOWN) != 0) {
+            return;
+        }
+        int tile = tiles[idx];
+        tiles[m] = (tiles[m] & (WELL_MASK | ISLAND_MASK)) | KNOWN | MIRRORED | (tile & (WALL | CLOUD))
+                | mirroredCurrents[(tile & CURRENT_MASK) >> CURRENT_SHIFT];
+        known[m >> 6] |= 1L << m;
+        numKnown++;
+        if ((tile & WELL_MASK) != 0) {
+            mirrorWell(idx);
+        }
+        int island = (tile & ISLAND_MASK) >> ISLAND_SHIFT;
+        if (island != 0 && mirroredIslands[island] == 0) {
+            mirroredIslands[island] = m;
+        }
+    }
+
+    private static void mirrorWell(int idx) {
+        int m = mirrorOffset + mirrorX * (idx & ~0b111111) + mirrorY * (idx & 0b111111);
+        if ((tiles[m] & WELL_MASK) != 0) {
+            return;
+        }
+        tiles[m] |= tiles[idx] & WELL_MASK;
+        if (numMirroredWells < MAX_MIRRORED_WELLS) {
+            mirroredWells[numMirroredWells++] = m;
+        }
+    }
+
+    // Mirrors tiles sensed before the symmetry was known, one bitmap word at a time, while there's
+    // bytecode to spare.
+    private static void backfill() {
+        while (backfillWord < known.length && Clock.getBytecodesLeft() > BACKFILL_SAFETY_MARGIN) {
+            long word = known[backfillWord];
+            int base = backfillWord << 6;
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                if ((tiles[base + bit] & MIRRORED) == 0) {
+                    mirror(base + bit);
+                }
+            }
+            backfillWord++;
+        }
+    }
+
+    // Closest well we only know about through symmetry, or null if there's none.
+    static MapLocation closestMirroredWell(MapLocation from) {
+        int best = -1;
+        int bestDist = Integer.MAX_VALUE;
+        for (int i = numMirroredWells; --i >= 0; ) {
+            int idx = mirroredWells[i];
+            int dist = Geometry.distSq(from.x, from.y, (idx >> 6) - 1, (idx & 0b111111) - 1);
+            if (dist < bestDist) {
+                bestDist = dist;
+                best = idx;
+            }
+        }
+        return best < 0 ? null : new MapLocation((best >> 6) - 1, (best & 0b111111) - 1);
+    }
+
+    static void recordIsland(int id, MapLocation[] locs) {
+        for (int i = locs.length; --i >= 0; ) {
+            int idx = ((locs[i].x + 1) << 6) + (locs[i].y + 1);
+            tiles[idx] = (tiles[idx] & ~ISLAND_MASK) | (id << ISLAND_SHIFT);
+        }
+        if (symmetric && locs.length > 0 && mirroredIslands[id] == 0) {
+            mirroredIslands[id] = mirrorIndex(index(locs[0]));
+        }
+    }
+
+    // QUERIES. Anything that isn't known is reported as passable, with no cloud, current, well or island.
+
+    static boolean isKnown(int idx) {
+        return (tiles[idx] & KNOWN) != 0;
+    }
+
+    static boolean isKnown(MapLocation loc) {
+        return (tiles[index(loc)] & KNOWN) != 0;
+    }
+
+    static boolean isMirrored(MapLocation loc) {
+        return (tiles[index(loc)] & MIRRORED) != 0;
+    }
+
+    static boolean isWall(int idx) {
+        return (tiles[idx] & WALL) != 0;
+    }
+
+    static boolean isWall(MapLocation loc) {
+        return (tiles[index(loc)] & WALL) != 0;
+    }
+
+    static boolean hasCloud(MapLocation loc) {
+        return (tiles[index(loc)] & CLOUD) != 0;
+    }
+
+    // Returns CENTER if there's no current, or if we don't know.
+    static Direction current(int idx) {
+        int tile = tiles[idx];
+        return (tile & KNOWN) != 0 ? DIRECTIONS[(tile & CURRENT_MASK) >> CURRENT_SHIFT] : Direction.CENTER;
+    }
+
+    static Direction current(MapLocation loc) {
+        return current(index(loc));
+    }
+
+    // Returns NO_RESOURCE if there's no (known) well.
+    static ResourceType well(MapLocation loc) {
+        return RESOURCES[(tiles[index(loc)] & WELL_MASK) >> WELL_SHIFT];
+    }
+
+    // Returns 0 if it's not (known to be) an island.
+    static int island(MapLocation loc) {
+        return (tiles[index(loc)] & ISLAND_MASK) >> ISLAND_SHIFT;
+    }
+}
@@ -0,0 +1,242 @@
+package bobby;
+
+import battlecode.common.GameActionException;
+import battlecode.common.MapLocation;
+import battlecode.common.RobotController;
+
+/**
+ * Facts waiting to be written to the shared array, highest priority first. Sensing code adds to
+ * it whenever it learns something; flush() writes as much as it can, once per turn, when we're in
+ * range.
+ *
+ * Regions fill up from the start, so each keeps a cursor to its first free slot, and an index from
+ * location to slot for everything before the cursor. Until a region is full each slot is only
+ * indexed once, so a flush is O(pending) plus whatever others wrote since the last one, and
+ * duplicates of what's already in the array are dropped without rescanning it.
+ *
+ * Once WELLS is full, a new well takes the slot of the least useful one (see WELL_EVICTION), if
+ * any is worth less. Entries are replaced in place, so regions never have holes. After that, the
+ * index is only a hint: lookups check it against the array, and a full region is re-indexed
+ * whenever its version moves. ENEMY_HQ can't overflow (3 candidates per ally HQ at most).
+ */
+public class WriteQueue {
+
+    // Kinds of entries, one per region.
+    static final int ENEMY_HQ = 0; // confirmed or not, see MemoryLayout.packEnemyHq
+    static final int WELL = 1;
+    static final int NUM_KINDS = 2;
+
+    // Higher goes first.
+    static final int PRIORITY_ENEMY_HQ = 3;
+    static final int PRIORITY_WELL = 2;
+    static final int PRIORITY_NOT_ENEMY_HQ = 1;
+
+    static final int CAPACITY = 32;
+
+    // How to pick the well to make room for a new one in a full WELLS region. Wells somebody is
+    // mining right now are never evicted.
+    enum Eviction {
+        NONE,
+        LRU, // the one mined longest ago, if at least EVICT_MIN_AGE ago.
+        FARTHEST, // the one farthest from our HQs, if farther than the new one.
+    }
+
+    static final Eviction WELL_EVICTION = Eviction.LRU;
+    static final int EVICT_MIN_AGE = 4; // in Occupancy.AGE_ROUNDS
+
+    private static final int[] BEGINS = {MemoryLayout.ENEMY_HQ_BEGIN, MemoryLayout.WELLS_BEGIN};
+    private static final int[] SIZES = {MemoryLayout.ENEMY_HQ_SIZE, MemoryLayout.WELLS_SIZE};
+    private static final int[] VERSIONS = {Memory.ENEMY_HQ_VERSION, Memory.WELLS_VERSION};
+
+    // Sorted by priority, descending.
+    private static final int[] kinds = new int[CAPACITY];
+    private static final int[] datas = new int[CAPACITY];
+    private static final int[] priorities = new int[CAPACITY];
+    static int size = 0;
+
+    private static final int[] cursors = new int[NUM_KINDS]; // first slot (in the region) we haven't seen taken.
+    private static final int[] fullVersions = {-1, -1}; // region version a full region was last indexed at.
+    private static final int[][] slotOfLoc = new int[NUM_KINDS][WorldMap.SIZE]; // slot + 1, or 0 if not there.
+    private static int flushedRound = -1;
+
+    static int loc(int kind, int data) {
+        return kind == WELL ? MemoryLayout.wellsLoc(data) : MemoryLayout.enemyHqLoc(data);
+    }
+
+    // Queues data to be written to kind's region. If something about the same location is already
+    // queued, it's replaced. Returns false if the queue is full of more important stuff.
+    static boolean add(int kind, int data, int priority) {
+        int loc = loc(kind, data);
+        for (int i = size; --i >= 0; ) {
+            if (kinds[i] == kind && loc(kind, datas[i]) == loc) {
+                remove(i);
+                break;
+            }
+        }
+        if (size == CAPACITY) {
+            if (priorities[CAPACITY - 1] >= priority) {
+                return false;
+            }
+            size--; // drop the least important one.
+        }
+        int i = size++;
+        while (i > 0 && priorities[i - 1] < priority) {
+            kinds[i] = kinds[i - 1];
+            datas[i] = datas[i - 1];
+            priorities[i] = priorities[i - 1];
+            i--;
+        }
+        kinds[i] = kind;
+        datas[i] = data;
+        priorities[i] = priority;
+        return true;
+    }
+
+    static boolean isQueued(int kind, int loc) {
+        for (int i = size; --i >= 0; ) {
+            if (kinds[i] == kind && loc(kind, datas[i]) == loc) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void remove(int i) {
+        size--;
+        System.arraycopy(kinds, i + 1, kinds, i, size - i);
+        System.arraycopy(datas, i + 1, datas, i, size - i);
+        System.arraycopy(priorities, i + 1, priorities, i, size - i);
+    }
+
+    // Writes whatever fits, at most once per turn. Entries that are already in the array are
+    // dropped; entries for a full region stay queued.
+    static void flush(RobotController rc) throws GameActionException {
+        int round = rc.getRoundNum();
+        if (size == 0 || round == flushedRound || !rc.canWriteSharedArray(0, 0)) {
+            return;
+        }
+        flushedRound = round;
+        int wrote = 0; // bit per kind
+        int kept = 0;
+        int indexed = 0; // bit per kind
+        for (int i = 0; i < size; i++) {
+            int kind = kinds[i];
+            int data = datas[i];
+            if ((indexed & (1 << kind)) == 0) {
+                index(kind);
+                indexed |= 1 << kind;
+            }
+            int loc = loc(kind, data);
+            int slot = slotOfLoc[kind][loc] - 1;
+            if (slot >= 0 && loc(kind, SharedArrayMirror.slots[BEGINS[kind] + slot]) != loc) {
+                slot = -1; // evicted.
+            }
+            boolean done;
+            if (slot >= 0) {
+                // Already there. Wells can change (e.g. get upgraded), HQs can't.
+                done = kind != WELL || SharedArrayMirror.slots[BEGINS[kind] + slot] == data || write(rc, kind, slot, data);
+            } else if (cursors[kind] < SIZES[kind]) {
+                slot = cursors[kind];
+                done = write(rc, kind, slot, data);
+                if (done) {
+                    slotOfLoc[kind][loc] = slot + 1;
+                    cursors[kind]++;
+                    if (kind == WELL) {
+                        Occupancy.reset(rc, slot);
+                    }
+                }
+            } else if (kind == WELL && (slot = wellVictim(loc)) >= 0) {
+                done = write(rc, kind, slot, data);
+                if (done) {
+                    slotOfLoc[kind][loc] = slot + 1;
+                    Occupancy.reset(rc, slot);
+                }
+            } else {
+                done = false; // full
+            }
+            if (done) {
+                wrote |= 1 << kind;
+            } else { // keep it, in order.
+                kinds[kept] = kind;
+                datas[kept] = data;
+                priorities[kept] = priorities[i];
+                kept++;
+            }
+        }
+        size = kept;
+        for (int kind = NUM_KINDS; --kind >= 0; ) {
+            if ((wrote & (1 << kind)) != 0) {
+                Memory.bumpVersion(rc, VERSIONS[kind]);
+            }
+        }
+    }
+
+    private static boolean write(RobotController rc, int kind, int slot, int data) throws GameActionException {
+        return kind == WELL ? MemoryLayout.writeWells(rc, slot, data) : MemoryLayout.writeEnemyHq(rc, slot, data);
+    }
+
+    // Slot of the well to replace with the one at loc, or -1 if they're all worth keeping.
+    static int wellVictim(int loc) {
+        if (WELL_EVICTION == Eviction.NONE) {
+            return -1;
+        }
+        int[] slots = SharedArrayMirror.slots;
+        int victim = -1;
+        int worst = WELL_EVICTION == Eviction.LRU ? EVICT_MIN_AGE - 1 : distanceToHQs(loc);
+        for (int i = MemoryLayout.WELLS_SIZE; --i >= 0; ) {
+            if (Occupancy.count(i) > 0) {
+                continue;
+            }
+            int value = WELL_EVICTION == Eviction.LRU
+                    ? Occupancy.age(i)
+                    : distanceToHQs(MemoryLayout.wellsLoc(slots[MemoryLayout.WELLS_BEGIN + i]));
+            if (value > worst) {
+                worst = value;
+                victim = i;
+            }
+        }
+        return victim;
+    }
+
+    // Chebyshev distance from loc (see WorldMap.index) to the closest ally HQ.
+    static int distanceToHQs(int loc) {
+        int x = (loc >> 6) - 1;
+        int y = (loc & 0b111111) - 1;
+        int min = Integer.MAX_VALUE;
+        for (MapLocation hq : RobotPlayer.knownHQs) {
+            int dx = Math.abs(hq.x - x);
+            int dy = Math.abs(hq.y - y);
+            int d = dx > dy ? dx : dy;
+            if (d < min) {
+                min = d;
+            }
+        }
+        return min;
+    }
+
+    // Catches up on slots others have taken (or replaced) since we last looked.
+    private static void index(int kind) {
+        int begin = BEGINS[kind];
+        int end = SIZES[kind];
+        int[] slots = SharedArrayMirror.slots;
+        int[] slotOf = slotOfLoc[kind];
+        int cursor = cursors[kind];
+        while (cursor < end) {
+            int data = slots[begin + cursor];
+            if (data == 0) {
+                break;
+            }
+            slotOf[loc(kind, data)] = ++cursor;
+        }
+        cursors[kind] = cursor;
+        if (cursor == end) {
+            int version = Memory.version(VERSIONS[kind]);
+            if (version != fullVersions[kind]) {
+                fullVersions[kind] = version;
+                for (int i = end; --i >= 0; ) {
+                    slotOf[loc(kind, slots[begin + i])] = i + 1;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package bobby;
+
+import battlecode.common.Direction;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CurrentsTest {
+
+    private static void setTile(int x, int y, Direction current) {
+        WorldMap.tiles[WorldMap.index(x, y)] = WorldMap.KNOWN | (current.ordinal() << WorldMap.CURRENT_SHIFT);
+    }
+
+    @Test
+    public void testChainEndpoint() {
+        // (10, 10) -> (11, 10) -> (12, 11) -> (12, 12), which has no current.
+        setTile(10, 10, Direction.EAST);
+        setTile(11, 10, Direction.NORTHEAST);
+        setTile(12, 11, Direction.NORTH);
+        setTile(12, 12, Direction.CENTER);
+        WorldMap.version++;
+
+        int end = Currents.endpoint(WorldMap.index(10, 10));
+        assertFalse(Currents.isCycle(end));
+        assertEquals(12, Currents.x(end));
+        assertEquals(12, Currents.y(end));
+        // Memoized for the rest of the chain too.
+        assertEquals(end, Currents.endpoint(WorldMap.index(11, 10)));
+        assertEquals(WorldMap.index(12, 12), Currents.endpoint(WorldMap.index(12, 12)));
+    }
+
+    @Test
+    public void testChainIntoUnknown() {
+        setTile(20, 20, Direction.SOUTH);
+        WorldMap.tiles[WorldMap.index(20, 19)] = 0;
+        WorldMap.version++;
+
+        assertEquals(WorldMap.index(20, 19), Currents.endpoint(WorldMap.index(20, 20)));
+
+        // Once the rest of the chain comes into view, it's resolved again.
+        setTile(20, 19, Direction.SOUTH);
+        setTile(20, 18, Direction.CENTER);
+        WorldMap.version++;
+        assertEquals(WorldMap.index(20, 18), Currents.endpoint(WorldMap.index(20, 20)));
+    }
+
+    @Test
+    public void testCycle() {
+        // A 2x2 whirlpool, entered from (29, 30).
+        setTile(29, 30, Direction.EAST);
+        setTile(30, 30, Direction.NORTH);
+        setTile(30, 31, Direction.EAST);
+        setTile(31, 31, Direction.SOUTH);
+        setTile(31, 30, Direction.WEST);
+        WorldMap.version++;
+
+        assertTrue(Currents.isCycle(Currents.endpoint(WorldMap.index(29, 30))));
+        assertTrue(Currents.isCycle(Currents.endpoint(WorldMap.index(31, 31))));
+    }
+}
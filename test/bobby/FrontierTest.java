@@ -0,0 +1,45 @@
+package bobby;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FrontierTest {
+
+    private static void see(int x, int y) {
+        int idx = WorldMap.index(x, y);
+        WorldMap.known[idx >> 6] |= 1L << idx;
+    }
+
+    @Test
+    public void testFrontierIsUnseenNextToSeen() {
+        long[] saved = WorldMap.known.clone();
+        Arrays.fill(WorldMap.known, 0);
+        try {
+            see(5, 5);
+            see(6, 5);
+            Frontier.scan(20, 20);
+
+            assertFalse(Frontier.isFrontier(5, 5)); // seen
+            assertTrue(Frontier.isFrontier(4, 5));
+            assertTrue(Frontier.isFrontier(7, 5));
+            assertTrue(Frontier.isFrontier(5, 6));
+            assertTrue(Frontier.isFrontier(6, 4));
+            assertFalse(Frontier.isFrontier(7, 6)); // only diagonal
+            assertFalse(Frontier.isFrontier(10, 10));
+
+            // Edges of the map don't wrap around.
+            see(0, 0);
+            see(0, 19);
+            Frontier.scan(20, 20);
+            assertTrue(Frontier.isFrontier(0, 1));
+            assertTrue(Frontier.isFrontier(1, 0));
+            assertTrue(Frontier.isFrontier(0, 18));
+        } finally {
+            System.arraycopy(saved, 0, WorldMap.known, 0, saved.length);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package bobby;
+
+import battlecode.common.MapLocation;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GeometryTest {
+
+    @Test
+    public void testOnMLine() {
+        MapLocation a = new MapLocation(0, 0);
+        MapLocation b = new MapLocation(6, 3);
+
+        // Bresenham from (0, 0) to (6, 3) draws y = round(x / 2), with ties on both sides.
+        assertTrue(Geometry.onMLine(a, b, new MapLocation(0, 0)));
+        assertTrue(Geometry.onMLine(a, b, new MapLocation(1, 0)));
+        assertTrue(Geometry.onMLine(a, b, new MapLocation(1, 1)));
+        assertTrue(Geometry.onMLine(a, b, new MapLocation(2, 1)));
+        assertTrue(Geometry.onMLine(a, b, new MapLocation(4, 2)));
+        assertTrue(Geometry.onMLine(a, b, new MapLocation(6, 3)));
+        assertFalse(Geometry.onMLine(a, b, new MapLocation(2, 0)));
+        assertFalse(Geometry.onMLine(a, b, new MapLocation(2, 2)));
+        assertFalse(Geometry.onMLine(a, b, new MapLocation(4, 3)));
+
+        // Vertical lines behave the same as any other.
+        assertTrue(Geometry.onMLine(new MapLocation(3, 0), new MapLocation(3, 9), new MapLocation(3, 5)));
+        assertFalse(Geometry.onMLine(new MapLocation(3, 0), new MapLocation(3, 9), new MapLocation(4, 5)));
+
+        // Degenerate line.
+        assertTrue(Geometry.onMLine(a, a, a));
+        assertFalse(Geometry.onMLine(a, a, b));
+    }
+}
@@ -0,0 +1,21 @@
+package bobby;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class HeatmapTest {
+
+    @Test
+    public void testCooledTakesOneOffEachLevel() {
+        int data = 0;
+        for (int i = 0; i < Heatmap.PER_SLOT; i++) {
+            data = MemoryLayout.withEnemyHeatLevel(data, i, i % 4);
+        }
+        int cooled = Heatmap.cooled(data);
+        for (int i = 0; i < Heatmap.PER_SLOT; i++) {
+            assertEquals(Math.max(0, i % 4 - 1), MemoryLayout.enemyHeatLevel(cooled, i));
+        }
+        assertEquals(0, Heatmap.cooled(Heatmap.cooled(Heatmap.cooled(data))));
+    }
+}
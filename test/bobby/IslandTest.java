@@ -0,0 +1,61 @@
+package bobby;
+
+import battlecode.common.MapLocation;
+import battlecode.common.Team;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class IslandTest {
+
+    @Test
+    public void testBoxAndCentroid() {
+        Island island = new Island(1, new MapLocation[]{new MapLocation(10, 20), new MapLocation(14, 22)}, Team.NEUTRAL, 0);
+        island.add(new MapLocation[]{new MapLocation(12, 21), new MapLocation(10, 20)}); // one duplicate
+        assertEquals(3, island.tiles.size());
+        assertEquals(10, island.minX);
+        assertEquals(14, island.maxX);
+        assertEquals(20, island.minY);
+        assertEquals(22, island.maxY);
+        assertEquals(new MapLocation(12, 21), island.centroid());
+
+        assertEquals(0, island.distanceSquaredToBox(new MapLocation(11, 22)));
+        assertEquals(4 + 9, island.distanceSquaredToBox(new MapLocation(8, 25)));
+    }
+
+    @Test
+    public void testClosestIsExactNearbyAndCloseFarAway() {
+        List<MapLocation> locs = new ArrayList<>();
+        for (int x = 20; x < 30; x++) {
+            for (int y = 30; y < 36; y++) {
+                if ((x + y) % 3 != 0) { // a ragged island
+                    locs.add(new MapLocation(x, y));
+                }
+            }
+        }
+        Island island = new Island(2, locs.toArray(new MapLocation[0]), Team.NEUTRAL, 0);
+        for (int x = 0; x < 60; x += 3) {
+            for (int y = 0; y < 60; y += 3) {
+                MapLocation from = new MapLocation(x, y);
+                int exact = Integer.MAX_VALUE;
+                for (MapLocation loc : locs) {
+                    exact = Math.min(exact, from.distanceSquaredTo(loc));
+                }
+                MapLocation closest = island.closest(from);
+                assertTrue(locs.contains(closest));
+                int dist = from.distanceSquaredTo(closest);
+                if (exact <= Island.EXACT_RADIUS_SQUARED) {
+                    assertEquals(exact, dist);
+                } else {
+                    // At most a cell's diagonal further away.
+                    double slack = Math.sqrt(exact) + Math.sqrt(2) * Island.CELL;
+                    assertTrue(dist <= slack * slack);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package bobby;
+
+import battlecode.common.MapLocation;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LocListTest {
+
+    @Test
+    public void testKeepsInsertionOrder() {
+        LocList list = new LocList(4);
+        MapLocation a = new MapLocation(5, 5);
+        MapLocation b = new MapLocation(1, 2);
+        MapLocation c = new MapLocation(30, 0);
+
+        assertTrue(list.add(a));
+        assertTrue(list.add(b));
+        assertFalse(list.add(a));
+        assertTrue(list.add(c));
+        assertEquals(3, list.size());
+        assertEquals(b, list.getLocation(1));
+
+        assertTrue(list.remove(a));
+        assertFalse(list.contains(a));
+        assertEquals(b, list.getLocation(0));
+        assertEquals(c, list.getLocation(1));
+        assertTrue(list.contains(c));
+
+        // Positions were updated when c moved down.
+        assertTrue(list.remove(c));
+        assertEquals(1, list.size());
+        assertEquals(b, list.getLocation(0));
+    }
+
+    @Test
+    public void testCapacityAndClear() {
+        LocList list = new LocList(2);
+        assertTrue(list.add(WorldMap.index(0, 0)));
+        assertTrue(list.add(WorldMap.index(0, 1)));
+        assertFalse(list.add(WorldMap.index(0, 2))); // full
+
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertFalse(list.contains(WorldMap.index(0, 0)));
+        assertTrue(list.add(WorldMap.index(0, 2)));
+    }
+}
@@ -0,0 +1,29 @@
+package bobby;
+
+import battlecode.common.MapLocation;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LocMapTest {
+
+    @Test
+    public void testPutGetRemove() {
+        LocMap map = new LocMap(8);
+        MapLocation a = new MapLocation(3, 4);
+        assertEquals(-1, map.get(a, -1));
+        assertTrue(map.put(a, 0)); // zero is a value, not "missing".
+        assertEquals(0, map.get(a, -1));
+        assertTrue(map.put(a, 7));
+        assertEquals(1, map.size());
+        assertEquals(7, map.get(Memory.encodeMapLocation(a), -1));
+        assertEquals(Memory.encodeMapLocation(a), map.keyAt(0));
+
+        assertTrue(map.remove(Memory.encodeMapLocation(a)));
+        assertFalse(map.containsKey(Memory.encodeMapLocation(a)));
+        map.clear();
+        assertEquals(0, map.size());
+    }
+}
@@ -0,0 +1,57 @@
+package bobby;
+
+import battlecode.common.MapLocation;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LocSetTest {
+
+    @Test
+    public void testAddRemoveClear() {
+        LocSet set = new LocSet();
+        MapLocation a = new MapLocation(0, 0);
+        MapLocation b = new MapLocation(59, 59);
+
+        assertTrue(set.add(a));
+        assertFalse(set.add(a));
+        assertTrue(set.add(b));
+        assertEquals(2, set.size());
+        assertTrue(set.contains(a));
+        assertTrue(set.contains(Memory.encodeMapLocation(b)));
+
+        assertTrue(set.remove(a));
+        assertFalse(set.remove(a));
+        assertFalse(set.contains(a));
+        assertEquals(1, set.size());
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(b));
+        assertTrue(set.add(new MapLocation(59, 58))); // same word as b.
+        assertFalse(set.contains(b));
+    }
+
+    @Test
+    public void testIteratesInKeyOrder() {
+        LocSet set = new LocSet();
+        int[] keys = {WorldMap.index(40, 2), WorldMap.index(0, 0), WorldMap.index(0, 61), WorldMap.index(59, 59)};
+        for (int key : keys) {
+            set.add(key);
+        }
+        List<Integer> seen = new ArrayList<>();
+        for (int loc = set.next(0); loc >= 0; loc = set.next(loc + 1)) {
+            seen.add(loc);
+        }
+        assertEquals(4, seen.size());
+        assertEquals(WorldMap.index(0, 0), (int) seen.get(0));
+        assertEquals(WorldMap.index(0, 61), (int) seen.get(1));
+        assertEquals(WorldMap.index(40, 2), (int) seen.get(2));
+        assertEquals(WorldMap.index(59, 59), (int) seen.get(3));
+    }
+}
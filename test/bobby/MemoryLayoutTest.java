@@ -0,0 +1,375 @@
+package bobby;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// AUTO-GENERATED by tools/codegen/MemoryLayoutGenerator.java from tools/codegen/memory.layout. DO NOT EDIT.
+public class MemoryLayoutTest {
+
+    @Test
+    public void testRegionsFit() {
+        assertTrue(MemoryLayout.SYMMETRY_END <= 64);
+        assertEquals(MemoryLayout.NUM_SLOTS_USED, MemoryLayout.SYMMETRY_END);
+        assertEquals(MemoryLayout.HEADER_END, MemoryLayout.HQ_BEGIN);
+        assertEquals(MemoryLayout.HQ_END, MemoryLayout.WELLS_BEGIN);
+        assertEquals(MemoryLayout.WELLS_END, MemoryLayout.ISLAND_LOCS_BEGIN);
+        assertEquals(MemoryLayout.ISLAND_LOCS_END, MemoryLayout.ISLAND_STATES_BEGIN);
+        assertEquals(MemoryLayout.ISLAND_STATES_END, MemoryLayout.ENEMY_HQ_BEGIN);
+        assertEquals(MemoryLayout.ENEMY_HQ_END, MemoryLayout.MESSAGE_HEAD_BEGIN);
+        assertEquals(MemoryLayout.MESSAGE_HEAD_END, MemoryLayout.MESSAGES_BEGIN);
+        assertEquals(MemoryLayout.MESSAGES_END, MemoryLayout.MESSAGE_STAMPS_BEGIN);
+        assertEquals(MemoryLayout.MESSAGE_STAMPS_END, MemoryLayout.WELL_OCCUPANCY_BEGIN);
+        assertEquals(MemoryLayout.WELL_OCCUPANCY_END, MemoryLayout.WELL_AGES_BEGIN);
+        assertEquals(MemoryLayout.WELL_AGES_END, MemoryLayout.ENEMY_HEAT_BEGIN);
+        assertEquals(MemoryLayout.ENEMY_HEAT_END, MemoryLayout.SYMMETRY_BEGIN);
+    }
+
+    @Test
+    public void testHeaderRoundTrip() {
+        int data;
+        data = MemoryLayout.withHeaderVersion(0, 0, 15);
+        assertEquals(15, MemoryLayout.headerVersion(data, 0));
+        assertEquals(15, data);
+        data = MemoryLayout.withHeaderVersion(0xFFFF, 0, 0);
+        assertEquals(0, MemoryLayout.headerVersion(data, 0));
+        assertEquals(65520, data);
+        data = MemoryLayout.withHeaderVersion(0, 1, 15);
+        assertEquals(15, MemoryLayout.headerVersion(data, 1));
+        assertEquals(240, data);
+        data = MemoryLayout.withHeaderVersion(0xFFFF, 1, 0);
+        assertEquals(0, MemoryLayout.headerVersion(data, 1));
+        assertEquals(65295, data);
+        data = MemoryLayout.withHeaderVersion(0, 2, 15);
+        assertEquals(15, MemoryLayout.headerVersion(data, 2));
+        assertEquals(3840, data);
+        data = MemoryLayout.withHeaderVersion(0xFFFF, 2, 0);
+        assertEquals(0, MemoryLayout.headerVersion(data, 2));
+        assertEquals(61695, data);
+        data = MemoryLayout.withHeaderVersion(0, 3, 15);
+        assertEquals(15, MemoryLayout.headerVersion(data, 3));
+        assertEquals(61440, data);
+        data = MemoryLayout.withHeaderVersion(0xFFFF, 3, 0);
+        assertEquals(0, MemoryLayout.headerVersion(data, 3));
+        assertEquals(4095, data);
+    }
+
+    @Test
+    public void testHqRoundTrip() {
+        int data;
+        data = MemoryLayout.withHqLoc(0, 4095);
+        assertEquals(4095, MemoryLayout.hqLoc(data));
+        assertEquals(8190, data);
+        data = MemoryLayout.withHqLoc(0xFFFF, 0);
+        assertEquals(0, MemoryLayout.hqLoc(data));
+        assertEquals(57345, data);
+        data = MemoryLayout.withHqConfirmed(0, 1);
+        assertEquals(1, MemoryLayout.hqConfirmed(data));
+        assertEquals(1, data);
+        data = MemoryLayout.withHqConfirmed(0xFFFF, 0);
+        assertEquals(0, MemoryLayout.hqConfirmed(data));
+        assertEquals(65534, data);
+        data = MemoryLayout.packHq(1445, 0);
+        assertEquals(1445, MemoryLayout.hqLoc(data));
+        assertEquals(0, MemoryLayout.hqConfirmed(data));
+    }
+
+    @Test
+    public void testWellsRoundTrip() {
+        int data;
+        data = MemoryLayout.withWellsLoc(0, 4095);
+        assertEquals(4095, MemoryLayout.wellsLoc(data));
+        assertEquals(65520, data);
+        data = MemoryLayout.withWellsLoc(0xFFFF, 0);
+        assertEquals(0, MemoryLayout.wellsLoc(data));
+        assertEquals(15, data);
+        data = MemoryLayout.withWellsRes(0, 3);
+        assertEquals(3, MemoryLayout.wellsRes(data));
+        assertEquals(12, data);
+        data = MemoryLayout.withWellsRes(0xFFFF, 0);
+        assertEquals(0, MemoryLayout.wellsRes(data));
+        assertEquals(65523, data);
+        data = MemoryLayout.withWellsUpgraded(0, 1);
+        assertEquals(1, MemoryLayout.wellsUpgraded(data));
+        assertEquals(2, data);
+        data = MemoryLayout.withWellsUpgraded(0xFFFF, 0);
+        assertEquals(0, MemoryLayout.wellsUpgraded(data));
+        assertEquals(65533, data);
+        data = MemoryLayout.withWellsSaturated(0, 1);
+        assertEquals(1, MemoryLayout.wellsSaturated(data));
+        assertEquals(1, data);
+        data = MemoryLayout.withWellsSaturated(0xFFFF, 0);
+        assertEquals(0, MemoryLayout.wellsSaturated(data));
+        assertEquals(65534, data);
+        data = MemoryLayout.packWells(1445, 2, 1, 0);
+        assertEquals(1445, MemoryLayout.wellsLoc(data));
+        assertEquals(2, MemoryLayout.wellsRes(data));
+        assertEquals(1, MemoryLayout.wellsUpgraded(data));
+        assertEquals(0, MemoryLayout.wellsSaturated(data));
+    }
+
+    @Test
+    public void testIslandLocsRoundTrip() {
+        int data;
+        data = MemoryLayout.withIslandLocsLoc(0, 4095);
+        assertEquals(4095, MemoryLayout.islandLocsLoc(data));
+        assertEquals(32760, data);
+        data = MemoryLayout.withIslandLocsLoc(0xFFFF, 0);
+        assertEquals(0, MemoryLayout.islandLocsLoc(data));
+        assertEquals(32775, data);
+        data = MemoryLayout.withIslandLocsOwner(0, 3);
+        assertEquals(3, MemoryLayout.islandLocsOwner(data));
+        assertEquals(6, data);
+        data = MemoryLayout.withIslandLocsOwner(0xFFFF, 0);
+        assertEquals(0, MemoryLayout.islandLocsOwner(data));
+        assertEquals(65529, data);
+        data = MemoryLayout.withIslandLocsAnchor(0, 1);
+        assertEquals(1, MemoryLayout.islandLocsAnchor(data));
+        assertEquals(1, data);
+        data = MemoryLayout.withIslandLocsAnchor(0xFFFF, 0);
+        assertEquals(0, MemoryLayout.islandLocsAnchor(data));
+        assertEquals(65534, data);
+        data = MemoryLayout.packIslandLocs(1445, 2, 1);
+        assertEquals(1445, MemoryLayout.islandLocsLoc(data));
+        assertEquals(2, MemoryLayout.islandLocsOwner(data));
+        assertEquals(1, MemoryLayout.islandLocsAnchor(data));
+    }
+
+    @Test
+    public void testIslandStatesRoundTrip() {
+        int data;
+        data = MemoryLayout.withIslandStatesId(0, 63);
+        assertEquals(63, MemoryLayout.islandStatesId(data));
+        assertEquals(64512, data);
+        data = MemoryLayout.withIslandStatesId(0xFFFF, 0);
+        assertEquals(0, MemoryLayout.islandStatesId(data));
+        assertEquals(1023, data);
+        data = MemoryLayout.withIslandStatesHealth(0, 7);
+        assertEquals(7, MemoryLayout.islandStatesHealth(data));
+        assertEquals(896, data);
+        data = MemoryLayout.withIslandStatesHealth(0xFFFF, 0);
+        assertEquals(0, MemoryLayout.islandStatesHealth(data));
+        assertEquals(64639, data);
+        data = MemoryLayout.withIslandStatesSeen(0, 127);
+        assertEquals(127, MemoryLayout.islandStatesSeen(data));
+        assertEquals(127, data);
+        data = MemoryLayout.withIslandStatesSeen(0xFFFF, 0);
+        assertEquals(0, MemoryLayout.islandStatesSeen(data));
+        assertEquals(65408, data);
+        data = MemoryLayout.packIslandStates(37, 2, 111);
+        assertEquals(37, MemoryLayout.islandStatesId(data));
+        assertEquals(2, MemoryLayout.islandStatesHealth(data));
+        assertEquals(111, MemoryLayout.islandStatesSeen(data));
+    }
+
+    @Test
+    public void testEnemyHqRoundTrip() {
+        int data;
+        data = MemoryLayout.withEnemyHqLoc(0, 4095);
+        assertEquals(4095, MemoryLayout.enemyHqLoc(data));
+        assertEquals(8190, data);
+        data = MemoryLayout.withEnemyHqLoc(0xFFFF, 0);
+        assertEquals(0, MemoryLayout.enemyHqLoc(data));
+        assertEquals(57345, data);
+        data = MemoryLayout.withEnemyHqConfirmed(0, 1);
+        assertEquals(1, MemoryLayout.enemyHqConfirmed(data));
+        assertEquals(1, data);
+        data = MemoryLayout.withEnemyHqConfirmed(0xFFFF, 0);
+        assertEquals(0, MemoryLayout.enemyHqConfirmed(data));
+        assertEquals(65534, data);
+        data = MemoryLayout.packEnemyHq(1445, 0);
+        assertEquals(1445, MemoryLayout.enemyHqLoc(data));
+        assertEquals(0, MemoryLayout.enemyHqConfirmed(data));
+    }
+
+    @Test
+    public void testMessageHeadRoundTrip() {
+        int data;
+        data = MemoryLayout.withMessageHeadSeq(0, 65535);
+        assertEquals(65535, MemoryLayout.messageHeadSeq(data));
+        assertEquals(65535, data);
+        data = MemoryLayout.withMessageHeadSeq(0xFFFF, 0);
+        assertEquals(0, MemoryLayout.messageHeadSeq(data));
+        assertEquals(0, data);
+        data = MemoryLayout.packMessageHead(1445);
+        assertEquals(1445, MemoryLayout.messageHeadSeq(data));
+    }
+
+    @Test
+    public void testMessagesRoundTrip() {
+        int data;
+        data = MemoryLayout.withMessagesType(0, 7);
+        assertEquals(7, MemoryLayout.messagesType(data));
+        assertEquals(28672, data);
+        data = MemoryLayout.withMessagesType(0xFFFF, 0);
+        assertEquals(0, MemoryLayout.messagesType(data));
+        assertEquals(36863, data);
+        data = MemoryLayout.withMessagesLoc(0, 4095);
+        assertEquals(4095, MemoryLayout.messagesLoc(data));
+        assertEquals(4095, data);
+        data = MemoryLayout.withMessagesLoc(0xFFFF, 0);
+        assertEquals(0, MemoryLayout.messagesLoc(data));
+        assertEquals(61440, data);
+        data = MemoryLayout.packMessages(5, 2890);
+        assertEquals(5, MemoryLayout.messagesType(data));
+        assertEquals(2890, MemoryLayout.messagesLoc(data));
+    }
+
+    @Test
+    public void testMessageStampsRoundTrip() {
+        int data;
+        data = MemoryLayout.withMessageStampsRound(0, 2047);
+        assertEquals(2047, MemoryLayout.messageStampsRound(data));
+        assertEquals(65504, data);
+        data = MemoryLayout.withMessageStampsRound(0xFFFF, 0);
+        assertEquals(0, MemoryLayout.messageStampsRound(data));
+        assertEquals(31, data);
+        data = MemoryLayout.withMessageStampsTtl(0, 31);
+        assertEquals(31, MemoryLayout.messageStampsTtl(data));
+        assertEquals(31, data);
+        data = MemoryLayout.withMessageStampsTtl(0xFFFF, 0);
+        assertEquals(0, MemoryLayout.messageStampsTtl(data));
+        assertEquals(65504, data);
+        data = MemoryLayout.packMessageStamps(1445, 10);
+        assertEquals(1445, MemoryLayout.messageStampsRound(data));
+        assertEquals(10, MemoryLayout.messageStampsTtl(data));
+    }
+
+    @Test
+    public void testWellOccupancyRoundTrip() {
+        int data;
+        data = MemoryLayout.withWellOccupancyCount(0, 0, 15);
+        assertEquals(15, MemoryLayout.wellOccupancyCount(data, 0));
+        assertEquals(15, data);
+        data = MemoryLayout.withWellOccupancyCount(0xFFFF, 0, 0);
+        assertEquals(0, MemoryLayout.wellOccupancyCount(data, 0));
+        assertEquals(65520, data);
+        data = MemoryLayout.withWellOccupancyCount(0, 1, 15);
+        assertEquals(15, MemoryLayout.wellOccupancyCount(data, 1));
+        assertEquals(240, data);
+        data = MemoryLayout.withWellOccupancyCount(0xFFFF, 1, 0);
+        assertEquals(0, MemoryLayout.wellOccupancyCount(data, 1));
+        assertEquals(65295, data);
+        data = MemoryLayout.withWellOccupancyCount(0, 2, 15);
+        assertEquals(15, MemoryLayout.wellOccupancyCount(data, 2));
+        assertEquals(3840, data);
+        data = MemoryLayout.withWellOccupancyCount(0xFFFF, 2, 0);
+        assertEquals(0, MemoryLayout.wellOccupancyCount(data, 2));
+        assertEquals(61695, data);
+        data = MemoryLayout.withWellOccupancyCount(0, 3, 15);
+        assertEquals(15, MemoryLayout.wellOccupancyCount(data, 3));
+        assertEquals(61440, data);
+        data = MemoryLayout.withWellOccupancyCount(0xFFFF, 3, 0);
+        assertEquals(0, MemoryLayout.wellOccupancyCount(data, 3));
+        assertEquals(4095, data);
+    }
+
+    @Test
+    public void testWellAgesRoundTrip() {
+        int data;
+        data = MemoryLayout.withWellAgesAge(0, 0, 7);
+        assertEquals(7, MemoryLayout.wellAgesAge(data, 0));
+        assertEquals(7, data);
+        data = MemoryLayout.withWellAgesAge(0xFFFF, 0, 0);
+        assertEquals(0, MemoryLayout.wellAgesAge(data, 0));
+        assertEquals(65528, data);
+        data = MemoryLayout.withWellAgesAge(0, 1, 7);
+        assertEquals(7, MemoryLayout.wellAgesAge(data, 1));
+        assertEquals(56, data);
+        data = MemoryLayout.withWellAgesAge(0xFFFF, 1, 0);
+        assertEquals(0, MemoryLayout.wellAgesAge(data, 1));
+        assertEquals(65479, data);
+        data = MemoryLayout.withWellAgesAge(0, 2, 7);
+        assertEquals(7, MemoryLayout.wellAgesAge(data, 2));
+        assertEquals(448, data);
+        data = MemoryLayout.withWellAgesAge(0xFFFF, 2, 0);
+        assertEquals(0, MemoryLayout.wellAgesAge(data, 2));
+        assertEquals(65087, data);
+        data = MemoryLayout.withWellAgesAge(0, 3, 7);
+        assertEquals(7, MemoryLayout.wellAgesAge(data, 3));
+        assertEquals(3584, data);
+        data = MemoryLayout.withWellAgesAge(0xFFFF, 3, 0);
+        assertEquals(0, MemoryLayout.wellAgesAge(data, 3));
+        assertEquals(61951, data);
+        data = MemoryLayout.withWellAgesAge(0, 4, 7);
+        assertEquals(7, MemoryLayout.wellAgesAge(data, 4));
+        assertEquals(28672, data);
+        data = MemoryLayout.withWellAgesAge(0xFFFF, 4, 0);
+        assertEquals(0, MemoryLayout.wellAgesAge(data, 4));
+        assertEquals(36863, data);
+    }
+
+    @Test
+    public void testEnemyHeatRoundTrip() {
+        int data;
+        data = MemoryLayout.withEnemyHeatLevel(0, 0, 3);
+        assertEquals(3, MemoryLayout.enemyHeatLevel(data, 0));
+        assertEquals(3, data);
+        data = MemoryLayout.withEnemyHeatLevel(0xFFFF, 0, 0);
+        assertEquals(0, MemoryLayout.enemyHeatLevel(data, 0));
+        assertEquals(65532, data);
+        data = MemoryLayout.withEnemyHeatLevel(0, 1, 3);
+        assertEquals(3, MemoryLayout.enemyHeatLevel(data, 1));
+        assertEquals(12, data);
+        data = MemoryLayout.withEnemyHeatLevel(0xFFFF, 1, 0);
+        assertEquals(0, MemoryLayout.enemyHeatLevel(data, 1));
+        assertEquals(65523, data);
+        data = MemoryLayout.withEnemyHeatLevel(0, 2, 3);
+        assertEquals(3, MemoryLayout.enemyHeatLevel(data, 2));
+        assertEquals(48, data);
+        data = MemoryLayout.withEnemyHeatLevel(0xFFFF, 2, 0);
+        assertEquals(0, MemoryLayout.enemyHeatLevel(data, 2));
+        assertEquals(65487, data);
+        data = MemoryLayout.withEnemyHeatLevel(0, 3, 3);
+        assertEquals(3, MemoryLayout.enemyHeatLevel(data, 3));
+        assertEquals(192, data);
+        data = MemoryLayout.withEnemyHeatLevel(0xFFFF, 3, 0);
+        assertEquals(0, MemoryLayout.enemyHeatLevel(data, 3));
+        assertEquals(65343, data);
+        data = MemoryLayout.withEnemyHeatLevel(0, 4, 3);
+        assertEquals(3, MemoryLayout.enemyHeatLevel(data, 4));
+        assertEquals(768, data);
+        data = MemoryLayout.withEnemyHeatLevel(0xFFFF, 4, 0);
+        assertEquals(0, MemoryLayout.enemyHeatLevel(data, 4));
+        assertEquals(64767, data);
+        data = MemoryLayout.withEnemyHeatLevel(0, 5, 3);
+        assertEquals(3, MemoryLayout.enemyHeatLevel(data, 5));
+        assertEquals(3072, data);
+        data = MemoryLayout.withEnemyHeatLevel(0xFFFF, 5, 0);
+        assertEquals(0, MemoryLayout.enemyHeatLevel(data, 5));
+        assertEquals(62463, data);
+        data = MemoryLayout.withEnemyHeatLevel(0, 6, 3);
+        assertEquals(3, MemoryLayout.enemyHeatLevel(data, 6));
+        assertEquals(12288, data);
+        data = MemoryLayout.withEnemyHeatLevel(0xFFFF, 6, 0);
+        assertEquals(0, MemoryLayout.enemyHeatLevel(data, 6));
+        assertEquals(53247, data);
+        data = MemoryLayout.withEnemyHeatLevel(0, 7, 3);
+        assertEquals(3, MemoryLayout.enemyHeatLevel(data, 7));
+        assertEquals(49152, data);
+        data = MemoryLayout.withEnemyHeatLevel(0xFFFF, 7, 0);
+        assertEquals(0, MemoryLayout.enemyHeatLevel(data, 7));
+        assertEquals(16383, data);
+    }
+
+    @Test
+    public void testSymmetryRoundTrip() {
+        int data;
+        data = MemoryLayout.withSymmetryRuledOut(0, 7);
+        assertEquals(7, MemoryLayout.symmetryRuledOut(data));
+        assertEquals(56, data);
+        data = MemoryLayout.withSymmetryRuledOut(0xFFFF, 0);
+        assertEquals(0, MemoryLayout.symmetryRuledOut(data));
+        assertEquals(65479, data);
+        data = MemoryLayout.withSymmetryInferred(0, 7);
+        assertEquals(7, MemoryLayout.symmetryInferred(data));
+        assertEquals(7, data);
+        data = MemoryLayout.withSymmetryInferred(0xFFFF, 0);
+        assertEquals(0, MemoryLayout.symmetryInferred(data));
+        assertEquals(65528, data);
+        data = MemoryLayout.packSymmetry(5, 2);
+        assertEquals(5, MemoryLayout.symmetryRuledOut(data));
+        assertEquals(2, MemoryLayout.symmetryInferred(data));
+    }
+}
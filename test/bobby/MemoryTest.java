@@ -1,9 +1,14 @@
 package bobby;
 
+import battlecode.common.Anchor;
 import battlecode.common.MapLocation;
 import battlecode.common.ResourceType;
+import battlecode.common.Team;
 import org.junit.Test;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import static bobby.Memory.Well;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
@@ -41,7 +46,55 @@ public class MemoryTest {
 
         well = new Well(new MapLocation(0, 0), ResourceType.ELIXIR, true, true, -1);
         assertEquals(0b000001_000001_11_1_1, Memory.encodeWell(well));
+        assertEquals(well, Memory.decodeWell(Memory.encodeWell(well), -1));
+
+        well = new Well(new MapLocation(0, 0), ResourceType.MANA, true, false, -1);
+        assertEquals(well, Memory.decodeWell(Memory.encodeWell(well), -1)); // upgraded used to decode as false.
 
         assertNull(Memory.decodeWell(0, -1));
     }
+
+    @Test
+    public void testIslandEncoding() {
+        Island island = new Island(7, new MapLocation[]{new MapLocation(3, 4)}, Team.NEUTRAL, 100);
+        int locData = Memory.encodeIslandLoc(island);
+        assertEquals(new MapLocation(3, 4), Memory.decodeMapLocation(MemoryLayout.islandLocsLoc(locData)));
+        assertEquals(Team.NEUTRAL.ordinal(), MemoryLayout.islandLocsOwner(locData));
+        assertEquals(0, Memory.healthBucket(island));
+
+        island.setOccupier(Team.B, Anchor.ACCELERATING, Anchor.ACCELERATING.totalHealth);
+        locData = Memory.encodeIslandLoc(island);
+        assertEquals(Team.B.ordinal(), MemoryLayout.islandLocsOwner(locData));
+        assertEquals(Anchor.ACCELERATING.ordinal(), MemoryLayout.islandLocsAnchor(locData));
+        assertEquals(7, Memory.healthBucket(island)); // full health still fits in 3 bits.
+
+        island.setOccupier(Team.B, Anchor.STANDARD, Anchor.STANDARD.totalHealth / 2);
+        assertEquals(3, Memory.healthBucket(island));
+    }
+
+    @Test
+    public void testReadIslandsSameBucket() {
+        // We saw island 7 unoccupied at round 100; a teammate saw the enemy take it at round 110.
+        // Both are in the same 16-round bucket, so the shared record must not be thrown away.
+        Map<Integer, Island> islands = new HashMap<>();
+        islands.put(7, new Island(7, new MapLocation[]{new MapLocation(3, 4)}, Team.NEUTRAL, 100));
+        Island theirs = new Island(7, new MapLocation[]{new MapLocation(3, 4)}, Team.NEUTRAL, 110);
+        theirs.setOccupier(Team.B, Anchor.STANDARD, Anchor.STANDARD.totalHealth);
+
+        int[] slots = SharedArrayMirror.slots;
+        int header = slots[MemoryLayout.HEADER_BEGIN];
+        slots[MemoryLayout.ISLAND_LOCS_BEGIN] = Memory.encodeIslandLoc(theirs);
+        slots[MemoryLayout.ISLAND_STATES_BEGIN] = MemoryLayout.packIslandStates(7, Memory.healthBucket(theirs), 110 >> Memory.ISLAND_SEEN_SHIFT);
+        slots[MemoryLayout.HEADER_BEGIN] = MemoryLayout.withHeaderVersion(header, Memory.ISLANDS_VERSION,
+                (MemoryLayout.headerVersion(header, Memory.ISLANDS_VERSION) + 1) & 0b1111);
+        try {
+            Memory.readIslands(islands);
+            assertEquals(Team.B, islands.get(7).team);
+            assertEquals(100, islands.get(7).asOf); // still as precise as we know.
+        } finally {
+            slots[MemoryLayout.ISLAND_LOCS_BEGIN] = 0;
+            slots[MemoryLayout.ISLAND_STATES_BEGIN] = 0;
+            slots[MemoryLayout.HEADER_BEGIN] = header;
+        }
+    }
 }
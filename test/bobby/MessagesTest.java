@@ -0,0 +1,72 @@
+package bobby;
+
+import battlecode.common.MapLocation;
+import battlecode.common.RobotController;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class MessagesTest {
+
+    private int round;
+    private boolean inRange;
+
+    // Just what Messages needs: the round, and whether we can write (MemoryLayout updates
+    // SharedArrayMirror itself).
+    private final RobotController rc = (RobotController) Proxy.newProxyInstance(
+            RobotController.class.getClassLoader(), new Class<?>[]{RobotController.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getRoundNum":
+                        return round;
+                    case "canWriteSharedArray":
+                        return inRange;
+                    case "writeSharedArray":
+                        return null;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+
+    @Test
+    public void testPendingKeepsItsRound() throws Exception {
+        int[] slots = SharedArrayMirror.slots;
+        int[] before = Arrays.copyOf(slots, slots.length);
+        try {
+            MapLocation fight = new MapLocation(10, 10);
+            int ttl = Messages.TTLS[Messages.ENEMIES_SIGHTED];
+
+            // Seen out of range, and we're back only after it expired: never posted.
+            round = 100;
+            inRange = false;
+            assertFalse(Messages.post(rc, Messages.ENEMIES_SIGHTED, fight));
+            round = 100 + ttl + 1;
+            inRange = true;
+            int seq = MemoryLayout.messageHeadSeq(MemoryLayout.readMessageHead(0));
+            Messages.flush(rc);
+            assertEquals(seq, MemoryLayout.messageHeadSeq(MemoryLayout.readMessageHead(0)));
+            assertNull(Messages.active(rc, Messages.ENEMIES_SIGHTED));
+
+            // Back while it's still live: posted with the round it was seen at, so it still expires
+            // on time.
+            round = 200;
+            inRange = false;
+            Messages.post(rc, Messages.ENEMIES_SIGHTED, fight);
+            round = 200 + ttl;
+            inRange = true;
+            Messages.flush(rc);
+            assertEquals(seq + 1, MemoryLayout.messageHeadSeq(MemoryLayout.readMessageHead(0)));
+            assertEquals(200, MemoryLayout.messageStampsRound(MemoryLayout.readMessageStamps(seq % Messages.SIZE)));
+            assertEquals(fight, Messages.active(rc, Messages.ENEMIES_SIGHTED));
+            round++;
+            assertNull(Messages.active(rc, Messages.ENEMIES_SIGHTED));
+        } finally {
+            System.arraycopy(before, 0, slots, 0, slots.length);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package bobby;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OccupancyTest {
+
+    @Test
+    public void testHalvedKeepsCountsApart() {
+        int data = 0;
+        data = MemoryLayout.withWellOccupancyCount(data, 0, 15);
+        data = MemoryLayout.withWellOccupancyCount(data, 1, 1);
+        data = MemoryLayout.withWellOccupancyCount(data, 2, 6);
+        data = MemoryLayout.withWellOccupancyCount(data, 3, 9);
+        int halved = Occupancy.halved(data);
+        assertEquals(7, MemoryLayout.wellOccupancyCount(halved, 0));
+        assertEquals(0, MemoryLayout.wellOccupancyCount(halved, 1));
+        assertEquals(3, MemoryLayout.wellOccupancyCount(halved, 2));
+        assertEquals(4, MemoryLayout.wellOccupancyCount(halved, 3));
+    }
+
+    @Test
+    public void testWeightFavorsCloseAndEmpty() {
+        assertTrue(Occupancy.weight(5, 0) > Occupancy.weight(20, 0));
+        assertTrue(Occupancy.weight(5, 0) > Occupancy.weight(5, 8));
+        // A crowded well next door is worse than an empty one a bit further away.
+        assertTrue(Occupancy.weight(20, 0) > Occupancy.weight(2, 12));
+        // Even a full one can still be picked.
+        assertTrue(Occupancy.weight(60, Occupancy.MAX_COUNT) > 0);
+    }
+
+    @Test
+    public void testAgedSaturates() {
+        int data = 0;
+        for (int i = 0; i < Occupancy.AGES_PER_SLOT; i++) {
+            data = MemoryLayout.withWellAgesAge(data, i, i + 3); // 3..7
+        }
+        int aged = Occupancy.aged(data);
+        for (int i = 0; i < Occupancy.AGES_PER_SLOT; i++) {
+            assertEquals(Math.min(Occupancy.MAX_AGE, i + 4), MemoryLayout.wellAgesAge(aged, i));
+        }
+        for (int i = 0; i < 10; i++) {
+            aged = Occupancy.aged(aged);
+        }
+        assertEquals(Occupancy.MAX_AGE, MemoryLayout.wellAgesAge(aged, 0));
+        assertEquals(aged, Occupancy.aged(aged));
+    }
+}
@@ -0,0 +1,42 @@
+package bobby;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ProfilerTest {
+
+    @Test
+    public void testP95() {
+        // 95 cheap turns and 5 expensive ones: p95 is still cheap, one more expensive one isn't.
+        for (int i = 0; i < 95; i++) {
+            Profiler.record(Profiler.ASTAR, 150);
+        }
+        for (int i = 0; i < 5; i++) {
+            Profiler.record(Profiler.ASTAR, 5000);
+        }
+        assertEquals(Profiler.BUCKET, Profiler.p95(Profiler.ASTAR));
+        Profiler.record(Profiler.ASTAR, 5000);
+        assertEquals(5000 / Profiler.BUCKET * Profiler.BUCKET + Profiler.BUCKET, Profiler.p95(Profiler.ASTAR));
+
+        // Way past the last bucket: report the max.
+        for (int i = 0; i < 100; i++) {
+            Profiler.record(Profiler.ASTAR, 50000);
+        }
+        assertEquals(50000, Profiler.p95(Profiler.ASTAR));
+    }
+
+    @Test
+    public void testShouldDump() {
+        assertFalse(Profiler.shouldDump(Profiler.DUMP_EVERY + 1, 100, 100));
+        assertTrue(Profiler.shouldDump(Profiler.DUMP_EVERY, 100, 100));
+        assertTrue(Profiler.shouldDump(2000, 100, 100));
+
+        // Low on health: once, whatever the round.
+        assertTrue(Profiler.shouldDump(7, Profiler.DYING_HEALTH_PERCENT, 100));
+        assertFalse(Profiler.shouldDump(8, 1, 100));
+        assertTrue(Profiler.shouldDump(2 * Profiler.DUMP_EVERY, 1, 100));
+    }
+}
@@ -0,0 +1,66 @@
+package bobby;
+
+import battlecode.common.MapLocation;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StringLocSetTest {
+
+    @Test
+    public void testSameAsHashSet() {
+        Random rng = new Random(2023);
+        StringLocSet set = new StringLocSet();
+        Set<MapLocation> expected = new HashSet<>();
+        for (int op = 0; op < 5000; op++) {
+            // A small area, so that adds and removes hit existing elements often.
+            MapLocation loc = new MapLocation(rng.nextInt(20), rng.nextInt(20));
+            switch (rng.nextInt(3)) {
+                case 0:
+                    assertEquals(expected.add(loc), set.add(loc));
+                    break;
+                case 1:
+                    assertEquals(expected.remove(loc), set.remove(loc));
+                    break;
+                default:
+                    assertEquals(expected.contains(loc), set.contains(loc));
+            }
+            assertEquals(expected.size(), set.size());
+        }
+        assertEquals(expected, elements(set));
+    }
+
+    @Test
+    public void testWholeMapAndClear() {
+        StringLocSet set = new StringLocSet();
+        Set<MapLocation> expected = new HashSet<>();
+        for (int x = 0; x < 60; x++) {
+            for (int y = 0; y < 60; y += 7) {
+                MapLocation loc = new MapLocation(x, y);
+                set.add(loc);
+                expected.add(loc);
+            }
+        }
+        assertEquals(expected, elements(set));
+        assertTrue(set.contains(new MapLocation(59, 56)));
+        assertFalse(set.contains(new MapLocation(59, 57)));
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(new MapLocation(0, 0)));
+    }
+
+    private static Set<MapLocation> elements(StringLocSet set) {
+        Set<MapLocation> elements = new HashSet<>();
+        for (int i = set.size(); --i >= 0; ) {
+            assertTrue(elements.add(set.getLocation(i))); // no duplicates
+        }
+        return elements;
+    }
+}
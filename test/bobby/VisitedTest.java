@@ -0,0 +1,54 @@
+package bobby;
+
+import battlecode.common.MapLocation;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class VisitedTest {
+
+    @Test
+    public void testAddAndClear() {
+        Visited v = new Visited();
+        MapLocation a = new MapLocation(0, 0);
+        MapLocation b = new MapLocation(59, 59);
+        MapLocation c = new MapLocation(0, 5); // same word as a.
+
+        assertFalse(v.contains(a));
+        assertTrue(v.add(a));
+        assertFalse(v.add(a));
+        assertTrue(v.add(b));
+        assertTrue(v.contains(a));
+        assertTrue(v.contains(b));
+        assertFalse(v.contains(c));
+
+        v.clear();
+        assertFalse(v.contains(a));
+        assertFalse(v.contains(b));
+        assertTrue(v.add(c));
+        assertFalse(v.contains(a)); // stale bits in the same word must not leak through.
+    }
+
+    @Test
+    public void testVisitCounts() {
+        Visited v = new Visited();
+        MapLocation a = new MapLocation(30, 17);
+
+        assertEquals(0, v.count(a));
+        assertEquals(1, v.visit(a));
+        assertEquals(2, v.visit(a));
+        assertEquals(2, v.count(a));
+        assertTrue(v.contains(a));
+
+        v.clear();
+        assertEquals(0, v.count(a));
+        assertEquals(1, v.visit(a));
+
+        for (int i = 0; i < 300; i++) {
+            v.visit(a);
+        }
+        assertEquals(Visited.COUNT_MASK, v.count(a));
+    }
+}
@@ -0,0 +1,69 @@
+package bobby;
+
+import battlecode.common.Direction;
+import battlecode.common.MapLocation;
+import battlecode.common.ResourceType;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class WorldMapTest {
+
+    private static void useSymmetry(int width, int height, Mapping.Symmetry sym) {
+        WorldMap.symmetric = false;
+        WorldMap.setSymmetry(width, height, sym);
+    }
+
+    @Test
+    public void testMirrorIndex() {
+        useSymmetry(30, 40, Mapping.Symmetry.VERTICAL);
+        assertEquals(WorldMap.index(29, 5), WorldMap.mirrorIndex(WorldMap.index(0, 5)));
+        assertEquals(WorldMap.index(15, 39), WorldMap.mirrorIndex(WorldMap.index(14, 39)));
+
+        useSymmetry(30, 40, Mapping.Symmetry.HORIZONTAL);
+        assertEquals(WorldMap.index(0, 34), WorldMap.mirrorIndex(WorldMap.index(0, 5)));
+        assertEquals(WorldMap.index(14, 0), WorldMap.mirrorIndex(WorldMap.index(14, 39)));
+
+        useSymmetry(30, 40, Mapping.Symmetry.ROTATIONAL);
+        assertEquals(WorldMap.index(29, 34), WorldMap.mirrorIndex(WorldMap.index(0, 5)));
+        assertEquals(WorldMap.index(15, 0), WorldMap.mirrorIndex(WorldMap.index(14, 39)));
+
+        // Every tile maps back onto itself.
+        for (int x = 0; x < 30; x++) {
+            for (int y = 0; y < 40; y++) {
+                int idx = WorldMap.index(x, y);
+                assertEquals(idx, WorldMap.mirrorIndex(WorldMap.mirrorIndex(idx)));
+            }
+        }
+    }
+
+    @Test
+    public void testUndecipherableIsIgnored() {
+        WorldMap.symmetric = false;
+        WorldMap.setSymmetry(30, 40, Mapping.Symmetry.NOT_DECIPHERABLE_WITH_HQS_ALONE);
+        assertFalse(WorldMap.symmetric);
+    }
+
+    @Test
+    public void testMirrorTile() {
+        useSymmetry(20, 20, Mapping.Symmetry.VERTICAL);
+        WorldMap.numMirroredWells = 0;
+        int idx = WorldMap.index(3, 2);
+        int m = WorldMap.index(16, 2);
+        WorldMap.tiles[idx] = WorldMap.KNOWN | WorldMap.WALL
+                | (Direction.NORTHEAST.ordinal() << WorldMap.CURRENT_SHIFT)
+                | (ResourceType.MANA.ordinal() << WorldMap.WELL_SHIFT);
+        WorldMap.tiles[m] = 0;
+
+        WorldMap.mirror(idx);
+        MapLocation mirror = new MapLocation(16, 2);
+        assertTrue(WorldMap.isKnown(m));
+        assertTrue(WorldMap.isMirrored(mirror));
+        assertTrue(WorldMap.isWall(m));
+        assertEquals(Direction.NORTHWEST, WorldMap.current(m)); // flipped along with the map.
+        assertEquals(ResourceType.MANA, WorldMap.well(mirror));
+        assertEquals(mirror, WorldMap.closestMirroredWell(new MapLocation(0, 0)));
+    }
+}
@@ -0,0 +1,64 @@
+package bobby;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class WriteQueueTest {
+
+    @Test
+    public void testDuplicatesAreReplaced() {
+        WriteQueue.size = 0;
+        int loc = WorldMap.index(3, 4);
+        assertTrue(WriteQueue.add(WriteQueue.WELL, MemoryLayout.packWells(loc, 1, 0, 0), WriteQueue.PRIORITY_WELL));
+        assertTrue(WriteQueue.add(WriteQueue.WELL, MemoryLayout.packWells(loc, 1, 1, 0), WriteQueue.PRIORITY_WELL));
+        assertEquals(1, WriteQueue.size);
+        assertTrue(WriteQueue.isQueued(WriteQueue.WELL, loc));
+
+        // Same location, but a different region.
+        assertFalse(WriteQueue.isQueued(WriteQueue.ENEMY_HQ, loc));
+        WriteQueue.add(WriteQueue.ENEMY_HQ, MemoryLayout.packEnemyHq(loc, 1), WriteQueue.PRIORITY_ENEMY_HQ);
+        assertEquals(2, WriteQueue.size);
+    }
+
+    @Test
+    public void testFullQueueKeepsMostImportant() {
+        WriteQueue.size = 0;
+        for (int i = 0; i < WriteQueue.CAPACITY; i++) {
+            assertTrue(WriteQueue.add(WriteQueue.ENEMY_HQ, MemoryLayout.packEnemyHq(WorldMap.index(i, 0), 0), WriteQueue.PRIORITY_NOT_ENEMY_HQ));
+        }
+        int well = WorldMap.index(1, 1);
+        assertTrue(WriteQueue.add(WriteQueue.WELL, MemoryLayout.packWells(well, 1, 0, 0), WriteQueue.PRIORITY_WELL));
+        assertEquals(WriteQueue.CAPACITY, WriteQueue.size);
+        assertTrue(WriteQueue.isQueued(WriteQueue.WELL, well));
+        assertFalse(WriteQueue.isQueued(WriteQueue.ENEMY_HQ, WorldMap.index(WriteQueue.CAPACITY - 1, 0))); // the newest of the least important
+
+        // Nothing less important gets in.
+        assertFalse(WriteQueue.add(WriteQueue.ENEMY_HQ, MemoryLayout.packEnemyHq(WorldMap.index(50, 50), 0), WriteQueue.PRIORITY_NOT_ENEMY_HQ));
+        WriteQueue.size = 0;
+    }
+
+    @Test
+    public void testEvictsStalestIdleWell() {
+        int[] slots = SharedArrayMirror.slots;
+        for (int i = 0; i < MemoryLayout.WELLS_SIZE; i++) {
+            slots[MemoryLayout.WELLS_BEGIN + i] = MemoryLayout.packWells(WorldMap.index(i, 0), 1, 0, 0);
+        }
+        int incoming = WorldMap.index(30, 30);
+        assertEquals(-1, WriteQueue.wellVictim(incoming)); // all fresh.
+
+        slots[MemoryLayout.WELL_AGES_BEGIN] = MemoryLayout.withWellAgesAge(0, 2, WriteQueue.EVICT_MIN_AGE);
+        slots[MemoryLayout.WELL_AGES_BEGIN + 1] = MemoryLayout.withWellAgesAge(0, 1, Occupancy.MAX_AGE); // well 6
+        assertEquals(6, WriteQueue.wellVictim(incoming));
+
+        // Unless someone's mining it.
+        slots[MemoryLayout.WELL_OCCUPANCY_BEGIN + 1] = MemoryLayout.withWellOccupancyCount(0, 2, 1);
+        assertEquals(2, WriteQueue.wellVictim(incoming));
+
+        Arrays.fill(slots, 0);
+    }
+}
@@ -0,0 +1,212 @@
+package codegen;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two builds of a player package method by method and prints how many bytecode
+ * instructions each method lost, biggest savings first. Meant for DebugStripper's output: the
+ * methods at the top are the ones that were paying for debug strings on every call.
+ *
+ * These are static counts (instructions in the method body), not what the instrumenter charges
+ * per turn; a method that lost 40 instructions on a branch we take every turn saves 40 bytecode
+ * per turn, one in a loop saves that much per iteration.
+ *
+ * Usage: CodeSizeReport <classesBefore> <classesAfter> <package> [limit]
+ * (or just ./gradlew reportStripped).
+ */
+public class CodeSizeReport {
+
+    static class Method {
+        final String name; // Class.method(descriptor)
+        final int instructions;
+        final int bytes;
+
+        Method(String name, int instructions, int bytes) {
+            this.name = name;
+            this.instructions = instructions;
+            this.bytes = bytes;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        String before = args.length > 0 ? args[0] : "build/classes";
+        String after = args.length > 1 ? args[1] : "build/stripped/classes";
+        String pkg = args.length > 2 ? args[2] : "bobby";
+        int limit = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+
+        String path = pkg.replace('.', '/');
+        Map<String, Method> old = readPackage(new File(before, path));
+        Map<String, Method> stripped = readPackage(new File(after, path));
+
+        List<String[]> rows = new ArrayList<>();
+        List<Integer> savings = new ArrayList<>();
+        int totalInstructions = 0;
+        int totalBytes = 0;
+        for (Method m : old.values()) {
+            Method s = stripped.get(m.name);
+            int instructions = m.instructions - (s != null ? s.instructions : 0);
+            int bytes = m.bytes - (s != null ? s.bytes : 0);
+            totalInstructions += instructions;
+            totalBytes += bytes;
+            if (instructions != 0) {
+                rows.add(new String[]{m.name, m.instructions + " -> " + (s != null ? s.instructions : 0)});
+                savings.add(instructions);
+            }
+        }
+        Integer[] order = new Integer[rows.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> savings.get(b) - savings.get(a));
+
+        System.out.println("Bytecode instructions saved per method (" + pkg + "):");
+        for (int i = 0; i < order.length && i < limit; i++) {
+            String[] row = rows.get(order[i]);
+            System.out.printf("  %6d  %-12s %s%n", savings.get(order[i]), row[1], row[0]);
+        }
+        if (order.length > limit) {
+            System.out.println("  ... and " + (order.length - limit) + " more");
+        }
+        System.out.println("Total: " + totalInstructions + " instructions (" + totalBytes + " bytes) in "
+                + order.length + " methods.");
+    }
+
+    static Map<String, Method> readPackage(File dir) throws IOException {
+        File[] classes = dir.listFiles((d, name) -> name.endsWith(".class"));
+        if (classes == null) {
+            throw new IOException("No classes in " + dir);
+        }
+        Map<String, Method> methods = new LinkedHashMap<>();
+        for (File file : classes) {
+            try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+                String className = file.getName().substring(0, file.getName().length() - ".class".length());
+                for (Method m : readClass(in, className)) {
+                    methods.put(m.name, m);
+                }
+            }
+        }
+        return methods;
+    }
+
+    // Just enough of the class file format to get at each method's Code attribute.
+    static List<Method> readClass(DataInputStream in, String className) throws IOException {
+        if (in.readInt() != 0xCAFEBABE) {
+            throw new IOException(className + " is not a class file");
+        }
+        in.readUnsignedShort(); // minor
+        in.readUnsignedShort(); // major
+        int poolSize = in.readUnsignedShort();
+        String[] utf8 = new String[poolSize];
+        for (int i = 1; i < poolSize; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    utf8[i] = in.readUTF();
+                    break;
+                case 3: case 4: // Integer, Float
+                case 9: case 10: case 11: case 12: // refs, NameAndType
+                case 17: case 18: // Dynamic, InvokeDynamic
+                    in.skipBytes(4);
+                    break;
+                case 5: case 6: // Long, Double take two entries.
+                    in.skipBytes(8);
+                    i++;
+                    break;
+                case 7: case 8: case 16: case 19: case 20: // Class, String, MethodType, Module, Package
+                    in.skipBytes(2);
+                    break;
+                case 15: // MethodHandle
+                    in.skipBytes(3);
+                    break;
+                default:
+                    throw new IOException(className + ": unknown constant pool tag " + tag);
+            }
+        }
+        in.skipBytes(6); // access, this, super
+        in.skipBytes(2 * in.readUnsignedShort()); // interfaces
+        int fields = in.readUnsignedShort();
+        for (int i = 0; i < fields; i++) {
+            in.skipBytes(6);
+            skipAttributes(in);
+        }
+        List<Method> methods = new ArrayList<>();
+        int count = in.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            in.skipBytes(2); // access
+            String name = utf8[in.readUnsignedShort()];
+            String descriptor = utf8[in.readUnsignedShort()];
+            int attributes = in.readUnsignedShort();
+            for (int a = 0; a < attributes; a++) {
+                String attribute = utf8[in.readUnsignedShort()];
+                int length = in.readInt();
+                if (!attribute.equals("Code")) {
+                    in.skipBytes(length);
+                    continue;
+                }
+                in.skipBytes(4); // max stack, max locals
+                byte[] code = new byte[in.readInt()];
+                in.readFully(code);
+                methods.add(new Method(className + "." + name + descriptor, countInstructions(code), code.length));
+                in.skipBytes(length - 8 - code.length);
+            }
+        }
+        return methods;
+    }
+
+    private static void skipAttributes(DataInputStream in) throws IOException {
+        int attributes = in.readUnsignedShort();
+        for (int a = 0; a < attributes; a++) {
+            in.skipBytes(2);
+            in.skipBytes(in.readInt());
+        }
+    }
+
+    static int countInstructions(byte[] code) {
+        int n = 0;
+        for (int pc = 0; pc < code.length; n++) {
+            pc += instructionLength(code, pc);
+        }
+        return n;
+    }
+
+    static int instructionLength(byte[] code, int pc) {
+        int op = code[pc] & 0xFF;
+        switch (op) {
+            case 0x10: case 0x12: case 0xa9: case 0xbc: // bipush, ldc, ret, newarray
+                return 2;
+            case 0xb9: case 0xba: case 0xc8: case 0xc9: // invokeinterface, invokedynamic, goto_w, jsr_w
+                return 5;
+            case 0xc5: // multianewarray
+                return 4;
+            case 0xc4: // wide
+                return (code[pc + 1] & 0xFF) == 0x84 ? 6 : 4;
+            case 0xaa: { // tableswitch
+                int p = (pc + 4) & ~3;
+                int low = readInt(code, p + 4);
+                int high = readInt(code, p + 8);
+                return p + 12 + 4 * (high - low + 1) - pc;
+            }
+            case 0xab: { // lookupswitch
+                int p = (pc + 4) & ~3;
+                return p + 8 + 8 * readInt(code, p + 4) - pc;
+            }
+            default:
+                break;
+        }
+        if (op >= 0x15 && op <= 0x19 || op >= 0x36 && op <= 0x3a) return 2; // loads/stores with an index
+        if (op == 0x11 || op == 0x13 || op == 0x14 || op == 0x84) return 3; // sipush, ldc_w, ldc2_w, iinc
+        if (op >= 0x99 && op <= 0xa8 || op == 0xc6 || op == 0xc7) return 3; // branches
+        if (op >= 0xb2 && op <= 0xb8 || op == 0xbb || op == 0xbd || op == 0xc0 || op == 0xc1) return 3; // refs
+        return 1;
+    }
+
+    private static int readInt(byte[] code, int p) {
+        return (code[p] & 0xFF) << 24 | (code[p + 1] & 0xFF) << 16 | (code[p + 2] & 0xFF) << 8 | (code[p + 3] & 0xFF);
+    }
+}
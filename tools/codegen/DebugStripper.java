@@ -0,0 +1,222 @@
+package codegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Copies a player package with its debugging removed, for submission builds:
+ * - statements that call setIndicator*, System.out/err or Profiler are replaced by ";"
+ * - so are assignments to indicatorString (Pathing's, which only feeds the indicator)
+ * - the DEBUG/PROFILE/BENCHMARK flags are set to false, so javac drops whatever they guard.
+ *
+ * Arguments are evaluated before the call, so the instrumenter charges for every string
+ * concatenation, String.format and toString in them even when the indicator isn't shown. Only
+ * whole statements are removed, so don't put side effects inside a debug call's arguments.
+ * Newlines are kept, so line numbers (and stack traces) match the original.
+ *
+ * Usage: DebugStripper <srcDir> <outDir> <package>
+ * (or just ./gradlew stripDebug).
+ */
+public class DebugStripper {
+
+    static final Set<String> DEBUG_CALLS = new HashSet<>(Arrays.asList(
+            "setIndicator", "setIndicatorString", "setIndicatorDot", "setIndicatorLine"));
+    static final Set<String> DEBUG_RECEIVERS = new HashSet<>(Arrays.asList(
+            "System.out", "System.err", "Profiler"));
+    static final Set<String> DEBUG_FIELDS = new HashSet<>(Arrays.asList("indicatorString"));
+
+    static final Pattern FLAG = Pattern.compile(
+            "(static\\s+final\\s+boolean\\s+(?:DEBUG|PROFILE|BENCHMARK)\\s*=\\s*)[^;]+;");
+
+    private final String src;
+    private final StringBuilder out = new StringBuilder();
+    private int pos = 0;
+    int removed = 0;
+
+    DebugStripper(String src) {
+        this.src = src;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String srcDir = args.length > 0 ? args[0] : "src";
+        String outDir = args.length > 1 ? args[1] : "build/stripped/src";
+        String pkg = args.length > 2 ? args[2] : "bobby";
+
+        String path = pkg.replace('.', '/');
+        File[] files = new File(srcDir, path).listFiles((dir, name) -> name.endsWith(".java"));
+        if (files == null) {
+            throw new IOException("No package " + pkg + " in " + srcDir);
+        }
+        Arrays.sort(files);
+        File dest = new File(outDir, path);
+        if (!dest.isDirectory() && !dest.mkdirs()) {
+            throw new IOException("Couldn't create " + dest);
+        }
+        int total = 0;
+        for (File file : files) {
+            DebugStripper stripper = new DebugStripper(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+            String stripped = stripper.strip();
+            Files.write(new File(dest, file.getName()).toPath(), stripped.getBytes(StandardCharsets.UTF_8));
+            if (stripper.removed > 0) {
+                System.out.println("  " + file.getName() + ": " + stripper.removed + " statements");
+            }
+            total += stripper.removed;
+        }
+        System.out.println("Stripped " + total + " debug statements into " + dest);
+    }
+
+    String strip() {
+        char prev = ';'; // last significant char; a statement can start after ; { } ) or :
+        String prevWord = "";
+        while (pos < src.length()) {
+            char c = src.charAt(pos);
+            if (c == '/' && (peek(1) == '/' || peek(1) == '*') || c == '"' || c == '\'') {
+                int end = skipLiteral(pos);
+                out.append(src, pos, end);
+                pos = end;
+            } else if (Character.isJavaIdentifierStart(c)) {
+                boolean atStatement = prev == ';' || prev == '{' || prev == '}' || prev == ')' || prev == ':'
+                        || prevWord.equals("else");
+                int end = atStatement ? debugStatementEnd(pos) : -1;
+                if (end >= 0) {
+                    out.append(';');
+                    for (int i = pos; i < end; i++) {
+                        if (src.charAt(i) == '\n') out.append('\n');
+                    }
+                    removed++;
+                    pos = end;
+                    prev = ';';
+                    prevWord = "";
+                } else {
+                    int wordEnd = identifierEnd(pos);
+                    prevWord = src.substring(pos, wordEnd);
+                    prev = 'a';
+                    out.append(prevWord);
+                    pos = wordEnd;
+                }
+            } else {
+                if (!Character.isWhitespace(c)) {
+                    prev = c;
+                    prevWord = "";
+                }
+                out.append(c);
+                pos++;
+            }
+        }
+        Matcher flags = FLAG.matcher(out);
+        return flags.replaceAll("$1false;");
+    }
+
+    // If a debug statement starts at i, returns the index just past its ';'; otherwise -1.
+    private int debugStatementEnd(int i) {
+        // Qualified name: a.b.c (whitespace allowed around the dots).
+        StringBuilder name = new StringBuilder();
+        while (true) {
+            int end = identifierEnd(i);
+            name.append(src, i, end);
+            i = skipSpace(end);
+            if (i < src.length() && src.charAt(i) == '.') {
+                name.append('.');
+                i = skipSpace(i + 1);
+                if (i >= src.length() || !Character.isJavaIdentifierStart(src.charAt(i))) return -1;
+            } else {
+                break;
+            }
+        }
+        String qualified = name.toString();
+        String simple = qualified.substring(qualified.lastIndexOf('.') + 1);
+        String receiver = qualified.lastIndexOf('.') >= 0 ? qualified.substring(0, qualified.lastIndexOf('.')) : "";
+        if (i >= src.length()) return -1;
+
+        char c = src.charAt(i);
+        if (c == '(' && (DEBUG_CALLS.contains(simple) || DEBUG_RECEIVERS.contains(receiver))) {
+            int close = matchingParen(i);
+            if (close < 0) return -1;
+            int semi = skipSpace(close + 1);
+            return semi < src.length() && src.charAt(semi) == ';' ? semi + 1 : -1;
+        }
+        if (c == '=' && charAt(i + 1) != '=' && DEBUG_FIELDS.contains(simple)) {
+            return statementEnd(i + 1);
+        }
+        return -1;
+    }
+
+    // Index past the ';' ending the expression that starts at i (at nesting depth 0).
+    private int statementEnd(int i) {
+        int depth = 0;
+        while (i < src.length()) {
+            char c = src.charAt(i);
+            if (c == '/' && (charAt(i + 1) == '/' || charAt(i + 1) == '*') || c == '"' || c == '\'') {
+                i = skipLiteral(i);
+                continue;
+            }
+            if (c == '(' || c == '[' || c == '{') depth++;
+            if (c == ')' || c == ']' || c == '}') depth--;
+            if (depth < 0) return -1;
+            if (c == ';' && depth == 0) return i + 1;
+            i++;
+        }
+        return -1;
+    }
+
+    // Index of the ')' matching the '(' at open, or -1.
+    private int matchingParen(int open) {
+        int depth = 0;
+        int i = open;
+        while (i < src.length()) {
+            char c = src.charAt(i);
+            if (c == '/' && (charAt(i + 1) == '/' || charAt(i + 1) == '*') || c == '"' || c == '\'') {
+                i = skipLiteral(i);
+                continue;
+            }
+            if (c == '(') depth++;
+            if (c == ')' && --depth == 0) return i;
+            i++;
+        }
+        return -1;
+    }
+
+    // Index past the comment, string or char literal starting at i.
+    private int skipLiteral(int i) {
+        char c = src.charAt(i);
+        if (c == '/' && charAt(i + 1) == '/') {
+            int end = src.indexOf('\n', i);
+            return end < 0 ? src.length() : end;
+        }
+        if (c == '/') {
+            int end = src.indexOf("*/", i + 2);
+            return end < 0 ? src.length() : end + 2;
+        }
+        for (i++; i < src.length(); i++) {
+            char d = src.charAt(i);
+            if (d == '\\') i++;
+            else if (d == c) return i + 1;
+        }
+        return i;
+    }
+
+    private int identifierEnd(int i) {
+        while (i < src.length() && Character.isJavaIdentifierPart(src.charAt(i))) i++;
+        return i;
+    }
+
+    private int skipSpace(int i) {
+        while (i < src.length() && Character.isWhitespace(src.charAt(i))) i++;
+        return i;
+    }
+
+    private char charAt(int i) {
+        return i < src.length() ? src.charAt(i) : 0;
+    }
+
+    private char peek(int offset) {
+        return charAt(pos + offset);
+    }
+}
@@ -0,0 +1,326 @@
+package codegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates {@code MemoryLayout.java} (and a round-trip test for it) from a declarative layout of
+ * the shared array: regions of slots, and the bit fields packed into each slot. See
+ * memory.layout for the format.
+ *
+ * Every accessor is a single shift-and-mask with the constants inlined, so packing is correct by
+ * construction and costs as little bytecode as the hand-written version.
+ *
+ * Usage: MemoryLayoutGenerator <layoutFile> <srcDir> <testDir> <package>
+ * (or just ./gradlew generateMemoryLayout).
+ */
+public class MemoryLayoutGenerator {
+
+    static final int NUM_SLOTS = 64;
+    static final int SLOT_BITS = 16;
+
+    static class Field {
+        final String name;
+        final int bits;
+        final int count; // > 1 for repeated fields
+        int shift; // of element 0
+
+        Field(String name, int bits, int count) {
+            this.name = name;
+            this.bits = bits;
+            this.count = count;
+        }
+
+        int mask() {
+            return (1 << bits) - 1;
+        }
+    }
+
+    static class Region {
+        final String name;
+        final int slots;
+        final int begin;
+        final List<Field> fields = new ArrayList<>();
+
+        Region(String name, int slots, int begin) {
+            this.name = name;
+            this.slots = slots;
+            this.begin = begin;
+        }
+    }
+
+    private final List<Region> regions = new ArrayList<>();
+
+    MemoryLayoutGenerator(List<String> lines) {
+        int next = 0;
+        Region region = null;
+        for (int n = 0; n < lines.size(); n++) {
+            String line = lines.get(n);
+            int comment = line.indexOf('#');
+            if (comment >= 0) {
+                line = line.substring(0, comment);
+            }
+            String[] parts = line.trim().split("\\s+");
+            if (parts[0].isEmpty()) {
+                continue;
+            }
+            if (parts[0].equals("region")) {
+                finish(region, n);
+                region = new Region(parts[1], Integer.parseInt(parts[2]), next);
+                next += region.slots;
+                regions.add(region);
+            } else {
+                if (region == null) {
+                    throw new IllegalArgumentException("line " + (n + 1) + ": field outside of a region");
+                }
+                int count = parts.length > 2 ? Integer.parseInt(parts[2].substring(1)) : 1;
+                region.fields.add(new Field(parts[0], Integer.parseInt(parts[1]), count));
+            }
+        }
+        finish(region, lines.size());
+        if (next > NUM_SLOTS) {
+            throw new IllegalArgumentException("layout uses " + next + " slots, but there are only " + NUM_SLOTS);
+        }
+    }
+
+    // Assigns shifts, from the least significant (last) field up.
+    private static void finish(Region region, int line) {
+        if (region == null) {
+            return;
+        }
+        int shift = 0;
+        for (int i = region.fields.size() - 1; i >= 0; i--) {
+            Field f = region.fields.get(i);
+            f.shift = shift;
+            shift += f.bits * f.count;
+        }
+        if (shift > SLOT_BITS) {
+            throw new IllegalArgumentException("before line " + (line + 1) + ": region " + region.name
+                    + " needs " + shift + " bits per slot, but slots only have " + SLOT_BITS);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        String layout = args.length > 0 ? args[0] : "tools/codegen/memory.layout";
+        String srcDir = args.length > 1 ? args[1] : "src";
+        String testDir = args.length > 2 ? args[2] : "test";
+        String pkg = args.length > 3 ? args[3] : "bobby";
+
+        MemoryLayoutGenerator gen = new MemoryLayoutGenerator(Files.readAllLines(new File(layout).toPath(), StandardCharsets.UTF_8));
+        String path = pkg.replace('.', '/');
+        File out = new File(new File(srcDir, path), "MemoryLayout.java");
+        try (PrintWriter w = new PrintWriter(out, "UTF-8")) {
+            gen.writeLayout(w, pkg, layout);
+        }
+        System.out.println("Wrote " + out);
+        File test = new File(new File(testDir, path), "MemoryLayoutTest.java");
+        try (PrintWriter w = new PrintWriter(test, "UTF-8")) {
+            gen.writeTest(w, pkg, layout);
+        }
+        System.out.println("Wrote " + test);
+    }
+
+    // ENEMY_HQ -> enemyHq
+    private static String camel(String name, boolean capitalize) {
+        StringBuilder sb = new StringBuilder();
+        boolean upper = capitalize;
+        for (char c : name.toCharArray()) {
+            if (c == '_') {
+                upper = true;
+            } else {
+                sb.append(upper ? Character.toUpperCase(c) : Character.toLowerCase(c));
+                upper = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String bin(int v) {
+        return "0b" + Integer.toBinaryString(v);
+    }
+
+    private static String constant(Region r, Field f) {
+        return r.name + "_" + f.name.toUpperCase();
+    }
+
+    void writeLayout(PrintWriter w, String pkg, String layout) {
+        w.println("package " + pkg + ";");
+        w.println();
+        w.println("import battlecode.common.GameActionException;");
+        w.println("import battlecode.common.RobotController;");
+        w.println();
+        w.println("// AUTO-GENERATED by tools/codegen/MemoryLayoutGenerator.java from " + layout);
+        w.println("// (./gradlew generateMemoryLayout). DO NOT EDIT.");
+        w.println("//");
+        w.println("// Slot ranges of each shared array region, and accessors for the bit fields packed into each slot.");
+        w.println("// Getters take the raw 16-bit slot value; pack/with build one.");
+        w.println("public class MemoryLayout {");
+        w.println();
+        Region last = regions.get(regions.size() - 1);
+        w.println("    static final int NUM_SLOTS_USED = " + (last.begin + last.slots) + ";");
+        w.println();
+        for (Region r : regions) {
+            String region = camel(r.name, false);
+            String Region = camel(r.name, true);
+            w.println();
+            w.println("    // " + r.name + ": " + (r.slots == 1 ? "slot " + r.begin : "slots " + r.begin + "-" + (r.begin + r.slots - 1)));
+            w.println("    static final int " + r.name + "_BEGIN = " + r.begin + ";");
+            w.println("    static final int " + r.name + "_SIZE = " + r.slots + ";");
+            w.println("    static final int " + r.name + "_END = " + (r.begin + r.slots) + ";");
+            for (Field f : r.fields) {
+                w.println("    static final int " + constant(r, f) + "_BITS = " + f.bits + ";");
+                if (f.count > 1) {
+                    w.println("    static final int " + constant(r, f) + "_COUNT = " + f.count + ";");
+                }
+            }
+            w.println();
+            w.println("    // From this turn's snapshot; see SharedArrayMirror.");
+            w.println("    static int read" + Region + "(int i) {");
+            w.println("        return SharedArrayMirror.slots[" + r.name + "_BEGIN + i];");
+            w.println("    }");
+            w.println();
+            w.println("    // Returns false (and writes nothing) if we're out of range.");
+            w.println("    static boolean write" + Region + "(RobotController rc, int i, int data) throws GameActionException {");
+            w.println("        if (rc.canWriteSharedArray(" + r.name + "_BEGIN + i, data)) {");
+            w.println("            rc.writeSharedArray(" + r.name + "_BEGIN + i, data);");
+            w.println("            SharedArrayMirror.set(" + r.name + "_BEGIN + i, data);");
+            w.println("            return true;");
+            w.println("        }");
+            w.println("        return false;");
+            w.println("    }");
+
+            boolean packable = !r.fields.isEmpty();
+            for (Field f : r.fields) {
+                String Field = camel(f.name, true);
+                int mask = f.mask();
+                if (f.count > 1) {
+                    packable = false;
+                    String shift = Integer.bitCount(f.bits) == 1
+                            ? "(i << " + Integer.numberOfTrailingZeros(f.bits) + ")"
+                            : "(i * " + f.bits + ")";
+                    if (f.shift != 0) {
+                        shift = "(" + f.shift + " + " + shift + ")";
+                    }
+                    w.println();
+                    w.println("    static int " + region + Field + "(int data, int i) {");
+                    w.println("        return (data >> " + shift + ") & " + bin(mask) + ";");
+                    w.println("    }");
+                    w.println();
+                    w.println("    static int with" + Region + Field + "(int data, int i, int value) {");
+                    w.println("        int shift = " + shift + ";");
+                    w.println("        return (data & ~(" + bin(mask) + " << shift)) | (value << shift);");
+                    w.println("    }");
+                    continue;
+                }
+                w.println();
+                w.println("    static int " + region + Field + "(int data) {");
+                if (f.shift == 0) {
+                    w.println("        return data & " + bin(mask) + ";");
+                } else if (f.shift + f.bits >= SLOT_BITS) {
+                    w.println("        return data >> " + f.shift + ";"); // slots are unsigned 16 bits.
+                } else {
+                    w.println("        return (data >> " + f.shift + ") & " + bin(mask) + ";");
+                }
+                w.println("    }");
+                w.println();
+                w.println("    static int with" + Region + Field + "(int data, int value) {");
+                String value = f.shift == 0 ? "value" : "(value << " + f.shift + ")";
+                w.println("        return (data & " + bin(~(mask << f.shift) & 0xFFFF) + ") | " + value + ";");
+                w.println("    }");
+            }
+            if (packable) {
+                StringBuilder params = new StringBuilder();
+                StringBuilder body = new StringBuilder();
+                for (Field f : r.fields) {
+                    if (params.length() > 0) {
+                        params.append(", ");
+                        body.append(" | ");
+                    }
+                    String param = camel(f.name, false);
+                    params.append("int ").append(param);
+                    body.append(f.shift == 0 ? param : "(" + param + " << " + f.shift + ")");
+                }
+                w.println();
+                w.println("    static int pack" + Region + "(" + params + ") {");
+                w.println("        return " + body + ";");
+                w.println("    }");
+            }
+        }
+        w.println("}");
+    }
+
+    void writeTest(PrintWriter w, String pkg, String layout) {
+        w.println("package " + pkg + ";");
+        w.println();
+        w.println("import org.junit.Test;");
+        w.println();
+        w.println("import static org.junit.Assert.assertEquals;");
+        w.println("import static org.junit.Assert.assertTrue;");
+        w.println();
+        w.println("// AUTO-GENERATED by tools/codegen/MemoryLayoutGenerator.java from " + layout + ". DO NOT EDIT.");
+        w.println("public class MemoryLayoutTest {");
+        w.println();
+        w.println("    @Test");
+        w.println("    public void testRegionsFit() {");
+        Region last = regions.get(regions.size() - 1);
+        w.println("        assertTrue(MemoryLayout." + last.name + "_END <= " + NUM_SLOTS + ");");
+        w.println("        assertEquals(MemoryLayout.NUM_SLOTS_USED, MemoryLayout." + last.name + "_END);");
+        for (int i = 1; i < regions.size(); i++) {
+            w.println("        assertEquals(MemoryLayout." + regions.get(i - 1).name + "_END, MemoryLayout." + regions.get(i).name + "_BEGIN);");
+        }
+        w.println("    }");
+        for (Region r : regions) {
+            if (r.fields.isEmpty()) {
+                continue;
+            }
+            String region = camel(r.name, false);
+            String Region = camel(r.name, true);
+            w.println();
+            w.println("    @Test");
+            w.println("    public void test" + Region + "RoundTrip() {");
+            w.println("        int data;");
+            for (Field f : r.fields) {
+                String Field = camel(f.name, true);
+                int max = f.mask();
+                for (int i = 0; i < f.count; i++) {
+                    String idx = f.count > 1 ? ", " + i : "";
+                    // Set one field (element) to all ones, and everything else to ones too, then clear it.
+                    w.println("        data = MemoryLayout.with" + Region + Field + "(0" + idx + ", " + max + ");");
+                    w.println("        assertEquals(" + max + ", MemoryLayout." + region + Field + "(data" + idx + "));");
+                    w.println("        assertEquals(" + (max << (f.shift + i * f.bits)) + ", data);");
+                    w.println("        data = MemoryLayout.with" + Region + Field + "(0xFFFF" + idx + ", 0);");
+                    w.println("        assertEquals(0, MemoryLayout." + region + Field + "(data" + idx + "));");
+                    w.println("        assertEquals(" + (0xFFFF & ~(max << (f.shift + i * f.bits))) + ", data);");
+                }
+            }
+            boolean packable = true;
+            for (Field f : r.fields) {
+                packable &= f.count == 1;
+            }
+            if (packable) {
+                StringBuilder args = new StringBuilder();
+                int v = 1;
+                List<Integer> values = new ArrayList<>();
+                for (Field f : r.fields) {
+                    int value = (v++ * 0x5A5) & f.mask(); // arbitrary, but different per field.
+                    values.add(value);
+                    if (args.length() > 0) {
+                        args.append(", ");
+                    }
+                    args.append(value);
+                }
+                w.println("        data = MemoryLayout.pack" + Region + "(" + args + ");");
+                for (int i = 0; i < r.fields.size(); i++) {
+                    w.println("        assertEquals(" + values.get(i) + ", MemoryLayout." + region + camel(r.fields.get(i).name, true) + "(data));");
+                }
+            }
+            w.println("    }");
+        }
+        w.println("}");
+    }
+}
@@ -0,0 +1,218 @@
+package codegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Generates {@code UnrolledBFS.java}: a single-pass, fully unrolled Bellman-Ford over every tile
+ * within a vision radius, using only local variables.
+ *
+ * Usage: UnrolledBfsGenerator <srcDir> <package> <radiusSquared>
+ * (or just ./gradlew generateBfs).
+ */
+public class UnrolledBfsGenerator {
+
+    static class Cell {
+        final int dx;
+        final int dy;
+
+        Cell(int dx, int dy) {
+            this.dx = dx;
+            this.dy = dy;
+        }
+
+        int distSq() {
+            return dx * dx + dy * dy;
+        }
+    }
+
+    private final int radiusSquared;
+    private final int range; // max |dx| (or |dy|) inside the disc.
+    private final List<Cell> cells = new ArrayList<>();
+
+    UnrolledBfsGenerator(int radiusSquared) {
+        this.radiusSquared = radiusSquared;
+        this.range = (int) Math.floor(Math.sqrt(radiusSquared));
+        for (int dx = -range; dx <= range; dx++) {
+            for (int dy = -range; dy <= range; dy++) {
+                if (dx * dx + dy * dy <= radiusSquared) {
+                    cells.add(new Cell(dx, dy));
+                }
+            }
+        }
+        // Relax inner cells first, so that a single pass sees (almost) every shortest path.
+        cells.sort(Comparator.comparingInt(Cell::distSq).thenComparingInt(c -> c.dx).thenComparingInt(c -> c.dy));
+    }
+
+    public static void main(String[] args) throws IOException {
+        String srcDir = args.length > 0 ? args[0] : "src";
+        String pkg = args.length > 1 ? args[1] : "bobby";
+        int radiusSquared = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        File out = new File(new File(srcDir, pkg.replace('.', '/')), "UnrolledBFS.java");
+        try (PrintWriter w = new PrintWriter(out, "UTF-8")) {
+            new UnrolledBfsGenerator(radiusSquared).write(w, pkg);
+        }
+        System.out.println("Wrote " + out);
+    }
+
+    // Offsets are shifted to be non-negative; the separator keeps e.g. (1, 10) and (11, 0) apart.
+    private String suffix(int dx, int dy) {
+        return (dx + range) + "_" + (dy + range);
+    }
+
+    private String suffix(Cell c) {
+        return suffix(c.dx, c.dy);
+    }
+
+    private boolean inDisc(int dx, int dy) {
+        return dx * dx + dy * dy <= radiusSquared;
+    }
+
+    private boolean isFrontier(Cell c) {
+        for (int ddx = -1; ddx <= 1; ddx++) {
+            for (int ddy = -1; ddy <= 1; ddy++) {
+                if (!inDisc(c.dx + ddx, c.dy + ddy)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String direction(int dx, int dy) {
+        String ns = dy > 0 ? "NORTH" : dy < 0 ? "SOUTH" : "";
+        String ew = dx > 0 ? "EAST" : dx < 0 ? "WEST" : "";
+        return "Direction." + ns + ew;
+    }
+
+    void write(PrintWriter w, String pkg) {
+        w.println("package " + pkg + ";");
+        w.println();
+        w.println("import battlecode.common.Direction;");
+        w.println("import battlecode.common.GameActionException;");
+        w.println("import battlecode.common.MapLocation;");
+        w.println("import battlecode.common.RobotController;");
+        w.println();
+        w.println("// AUTO-GENERATED by tools/codegen/UnrolledBfsGenerator.java (./gradlew generateBfs). DO NOT EDIT.");
+        w.println("//");
+        w.println("// Single-pass Bellman-Ford over the " + cells.size() + " tiles within radius^2 " + radiusSquared + ". Tiles are relaxed");
+        w.println("// in order of distance from the robot, from every already-relaxed neighbor, so everything lives in");
+        w.println("// locals (l = location, v = moves to get there, d = first direction to take).");
+        w.println("public class UnrolledBFS {");
+        w.println();
+        w.println("    static final int RADIUS_SQUARED = " + radiusSquared + ";");
+        w.println("    static final int UNREACHABLE = 1000000;");
+        w.println();
+        w.println("    // Returns the first step of the shortest known path towards target: straight to it if it's");
+        w.println("    // within the disc, otherwise to the frontier tile that minimizes moves + chebyshev distance.");
+        w.println("    // Returns null if nothing on the frontier is reachable.");
+        w.println("    static Direction bestDirection(RobotController rc, MapLocation target) throws GameActionException {");
+        String c = suffix(0, 0);
+        w.println("        MapLocation l" + c + " = rc.getLocation();");
+        w.println();
+
+        for (Cell cell : cells) {
+            if (cell.dx == 0 && cell.dy == 0) {
+                continue;
+            }
+            String s = suffix(cell);
+            if (cell.distSq() > 2) { // adjacent tiles are checked with canMove instead.
+                w.println("        MapLocation l" + s + " = l" + c + ".translate(" + cell.dx + ", " + cell.dy + ");");
+            }
+            w.println("        int v" + s + " = UNREACHABLE;");
+            w.println("        Direction d" + s + " = null;");
+            if (cell.distSq() <= 2) {
+                String dir = direction(cell.dx, cell.dy);
+                w.println("        if (rc.canMove(" + dir + ") && !Pathing.hasCurrent(rc, " + dir + ")) {");
+                w.println("            v" + s + " = 1;");
+                w.println("            d" + s + " = " + dir + ";");
+                w.println("        }");
+            } else {
+                w.println("        if (rc.canSenseLocation(l" + s + ") && rc.sensePassability(l" + s + ")) {");
+                for (Cell n : relaxedNeighbors(cell)) {
+                    String ns = suffix(n);
+                    w.println("            if (v" + ns + " < v" + s + ") {");
+                    w.println("                v" + s + " = v" + ns + ";");
+                    w.println("                d" + s + " = d" + ns + ";");
+                    w.println("            }");
+                }
+                w.println("            v" + s + "++;");
+                w.println("        }");
+            }
+        }
+        w.println();
+
+        // Target within the disc: go straight for it.
+        w.println("        int tdx = target.x - l" + c + ".x;");
+        w.println("        int tdy = target.y - l" + c + ".y;");
+        w.println("        if (tdx * tdx + tdy * tdy <= RADIUS_SQUARED) {");
+        w.println("            switch ((tdx + " + range + ") * " + (2 * range + 1) + " + (tdy + " + range + ")) {");
+        for (Cell cell : cells) {
+            if (cell.dx == 0 && cell.dy == 0) {
+                continue;
+            }
+            String s = suffix(cell);
+            w.println("                case " + ((cell.dx + range) * (2 * range + 1) + (cell.dy + range)) + ":");
+            w.println("                    if (v" + s + " < UNREACHABLE) return d" + s + ";");
+            w.println("                    break;");
+        }
+        w.println("                default:");
+        w.println("                    return null; // we're on it.");
+        w.println("            }");
+        w.println("        }");
+        w.println();
+
+        // Otherwise, pick the best frontier tile.
+        w.println("        Direction best = null;");
+        w.println("        int bestScore = UNREACHABLE;");
+        w.println("        int a;");
+        w.println("        int b;");
+        for (Cell cell : cells) {
+            if (!isFrontier(cell)) {
+                continue;
+            }
+            String s = suffix(cell);
+            w.println("        if (v" + s + " < bestScore) {");
+            w.println("            a = tdx - " + paren(cell.dx) + ";");
+            w.println("            if (a < 0) a = -a;");
+            w.println("            b = tdy - " + paren(cell.dy) + ";");
+            w.println("            if (b < 0) b = -b;");
+            w.println("            a = v" + s + " + (a > b ? a : b);");
+            w.println("            if (a < bestScore) {");
+            w.println("                bestScore = a;");
+            w.println("                best = d" + s + ";");
+            w.println("            }");
+            w.println("        }");
+        }
+        w.println("        return best;");
+        w.println("    }");
+        w.println("}");
+    }
+
+    private static String paren(int v) {
+        return v < 0 ? "(" + v + ")" : String.valueOf(v);
+    }
+
+    // Neighbors of cell inside the disc that were relaxed before it (excluding the robot's own tile,
+    // since it has no first direction).
+    private List<Cell> relaxedNeighbors(Cell cell) {
+        List<Cell> out = new ArrayList<>();
+        for (Cell n : cells) {
+            if (n == cell) {
+                break;
+            }
+            if (n.dx == 0 && n.dy == 0) {
+                continue;
+            }
+            if (Math.abs(n.dx - cell.dx) <= 1 && Math.abs(n.dy - cell.dy) <= 1) {
+                out.add(n);
+            }
+        }
+        return out;
+    }
+}